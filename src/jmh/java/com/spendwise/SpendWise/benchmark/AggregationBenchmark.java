@@ -0,0 +1,84 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.model.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category and daily aggregation behind /category-breakdown and /daily-spending:
+ * the original per-row loops over raw expenses versus folding pre-aggregated rollup rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Expense> expenses;
+    private List<Bucket> dailyBuckets;
+
+    private record Bucket(LocalDate day, String category, long totalCents) {
+    }
+
+    @Setup
+    public void setup() {
+        expenses = BenchmarkData.expenses(rows);
+        Map<LocalDate, Map<String, Long>> byDay = new HashMap<>();
+        for (Expense e : expenses) {
+            byDay.computeIfAbsent(e.getDate(), d -> new HashMap<>()).merge(e.getCategory(), e.getAmountCents(), Long::sum);
+        }
+        dailyBuckets = new ArrayList<>();
+        byDay.forEach((day, cats) -> cats.forEach((cat, total) -> dailyBuckets.add(new Bucket(day, cat, total))));
+    }
+
+    @Benchmark
+    public Map<String, Long> categoryFromRawRows() {
+        Map<String, Long> categoryMap = new HashMap<>();
+        for (Expense e : expenses) {
+            String cat = e.getCategory() == null || e.getCategory().isEmpty() ? "Other" : e.getCategory();
+            categoryMap.merge(cat, e.getAmountCents(), Long::sum);
+        }
+        return categoryMap;
+    }
+
+    @Benchmark
+    public Map<String, Long> dailyFromRawRows() {
+        Map<String, Long> dailyMap = new HashMap<>();
+        for (Expense e : expenses) {
+            if (e.getDate() != null) {
+                dailyMap.merge(e.getDate().toString(), e.getAmountCents(), Long::sum);
+            }
+        }
+        return dailyMap;
+    }
+
+    @Benchmark
+    public Map<String, Long> dailyFromRollups() {
+        Map<String, Long> dailyMap = new HashMap<>();
+        for (Bucket b : dailyBuckets) {
+            dailyMap.merge(b.day().toString(), b.totalCents(), Long::sum);
+        }
+        return dailyMap;
+    }
+}
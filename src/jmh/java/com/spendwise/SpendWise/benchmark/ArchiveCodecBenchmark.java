@@ -0,0 +1,68 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.util.ArchiveCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary archive encode/decode of expense history; compare with CsvExportBenchmark for the CSV
+ * path. The encoded size is checked in ArchiveCodecTests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ArchiveCodecBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Expense> expenses;
+    private byte[] archive;
+
+    @Setup
+    public void setup() throws IOException {
+        expenses = BenchmarkData.expenses(rows);
+        archive = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveCodec.Writer w = new ArchiveCodec.Writer(out, BenchmarkData.OWNER_ID);
+        for (int from = 0; from < expenses.size(); from += ArchiveCodec.BLOCK_ROWS) {
+            w.expenses(expenses.subList(from, Math.min(expenses.size(), from + ArchiveCodec.BLOCK_ROWS)));
+        }
+        w.finish();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public void decode(Blackhole bh) {
+        new ArchiveCodec.Reader(ByteBuffer.wrap(archive)).readAll(new ArchiveCodec.Sink() {
+            @Override
+            public void expenses(List<Expense> block) {
+                bh.consume(block);
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.repository.CounterpartyTotal;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data shaped like production rows (a few years of history,
+ * the app's standard categories, amounts with cents).
+ */
+final class BenchmarkData {
+
+    static final String[] CATEGORIES = {"Food", "Transport", "Entertainment", "Bills", "Shopping", "Healthcare", "Other"};
+    static final long OWNER_ID = 1L;
+
+    private static final LocalDate START = LocalDate.of(2021, 1, 1);
+    private static final int DAYS = 4 * 365;
+
+    private BenchmarkData() {
+    }
+
+    static List<Expense> expenses(int n) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        List<Expense> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Expense e = new Expense(OWNER_ID, amount(rnd), "Purchase #" + i + (i % 17 == 0 ? " \"promo\"" : ""),
+                    START.plusDays(rnd.nextInt(DAYS)), CATEGORIES[rnd.nextInt(CATEGORIES.length)]);
+            e.setId((long) i + 1);
+            rows.add(e);
+        }
+        return rows;
+    }
+
+    /** Cross-debts between arbitrary members of one group (ids 1..members). */
+    static List<Debt> groupDebts(int n, int members) {
+        SplittableRandom rnd = new SplittableRandom(11);
+        List<Debt> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long from = 1 + rnd.nextInt(members);
+            long to = 1 + (from + rnd.nextInt(members - 1)) % members;
+            Debt d = new Debt(from, to, amount(rnd), "IOU " + i, START.plusDays(rnd.nextInt(DAYS)));
+            d.setId((long) i + 1);
+            rows.add(d);
+        }
+        return rows;
+    }
+
+    /** Per-counterparty pending sums, as returned by the grouped debt queries. */
+    static List<CounterpartyTotal> counterpartyTotals(int counterparties, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<CounterpartyTotal> rows = new ArrayList<>(counterparties);
+        for (int i = 0; i < counterparties; i++) {
+            long id = 2 + i;
+            long totalCents = rnd.nextLong(1, 50_000) * (1 + rnd.nextInt(50));
+            rows.add(new CounterpartyTotal() {
+                public Long getCounterpartyId() { return id; }
+                public long getTotalCents() { return totalCents; }
+            });
+        }
+        return rows;
+    }
+
+    static String[] amountStrings(int n) {
+        SplittableRandom rnd = new SplittableRandom(3);
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            switch (i % 4) {
+                case 0 -> values[i] = Long.toString(rnd.nextLong(1, 500_000));
+                case 1 -> values[i] = String.format("%d.%02d", rnd.nextLong(0, 100_000), rnd.nextInt(100));
+                case 2 -> values[i] = " " + rnd.nextLong(0, 1_000) + ".5 ";
+                default -> values[i] = Double.toString(amount(rnd));
+            }
+        }
+        return values;
+    }
+
+    static double amount(SplittableRandom rnd) {
+        return rnd.nextLong(1, 50_000) / 100.0;
+    }
+}
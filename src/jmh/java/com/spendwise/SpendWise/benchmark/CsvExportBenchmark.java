@@ -0,0 +1,61 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.util.CsvExportUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV row building from the export: one reused row buffer (streaming export) versus
+ * accumulating the whole file in a single StringBuilder (the original exportCSV).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Expense> expenses;
+
+    @Setup
+    public void setup() {
+        expenses = BenchmarkData.expenses(rows);
+    }
+
+    @Benchmark
+    public void reusedRowBuffer(Blackhole bh) {
+        StringBuilder row = new StringBuilder(256);
+        for (Expense e : expenses) {
+            row.setLength(0);
+            CsvExportUtil.appendRow(row, "Expense", e.getDate(), e.getDescription(), e.getAmountCents(), e.getCategory());
+            bh.consume(row.length());
+        }
+    }
+
+    @Benchmark
+    public String wholeFileBuilder() {
+        StringBuilder csv = new StringBuilder(CsvExportUtil.HEADER);
+        for (Expense e : expenses) {
+            CsvExportUtil.appendRow(csv, "Expense", e.getDate(), e.getDescription(), e.getAmountCents(), e.getCategory());
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.repository.CounterpartyTotal;
+import com.spendwise.SpendWise.util.DebtSummaryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response assembly for /api/debts/summary from the per-counterparty sums the database returns.
+ * The debt count no longer matters here; only the number of counterparties does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DebtSummaryBenchmark {
+
+    @Param({"20", "2000"})
+    public int counterparties;
+
+    private List<CounterpartyTotal> owed;
+    private List<CounterpartyTotal> owedToYou;
+
+    @Setup
+    public void setup() {
+        owed = BenchmarkData.counterpartyTotals(counterparties, 3);
+        owedToYou = BenchmarkData.counterpartyTotals(counterparties, 5);
+    }
+
+    @Benchmark
+    public Map<String, Object> summarize() {
+        return DebtSummaryUtil.summarize(owed, owedToYou);
+    }
+}
@@ -0,0 +1,57 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.util.HealthScoreUtil;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health-score math from /api/finance/health-score: the score itself, and the score with
+ * the totals summed in Java over N rows (what the endpoint cost before SQL-side sums).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class HealthScoreBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private List<Expense> expenses;
+    private double totalIncome;
+
+    @Setup
+    public void setup() {
+        expenses = BenchmarkData.expenses(rows);
+        totalIncome = rows * 300.0;
+    }
+
+    @Benchmark
+    public Map<String, Object> scoreFromTotals() {
+        return HealthScoreUtil.compute(totalIncome, rows * 120.0, rows * 40.0);
+    }
+
+    @Benchmark
+    public Map<String, Object> scoreFromRows() {
+        long expenseCents = 0;
+        for (Expense e : expenses) expenseCents += e.getAmountCents();
+        return HealthScoreUtil.compute(totalIncome, MoneyAmountUtil.toDouble(expenseCents), 0);
+    }
+}
@@ -0,0 +1,54 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MoneyAmountUtil#parse(Object)} against {@link MoneyAmountUtil#parseCents(Object)} over a
+ * mix of integer, two-decimal, padded and double-formatted inputs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class MoneyParseBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private String[] inputs;
+
+    @Setup
+    public void setup() {
+        inputs = BenchmarkData.amountStrings(rows);
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String s : inputs) {
+            bh.consume(MoneyAmountUtil.parse(s));
+        }
+    }
+
+    @Benchmark
+    public void parseCents(Blackhole bh) {
+        for (String s : inputs) {
+            bh.consume(MoneyAmountUtil.parseCents(s));
+        }
+    }
+}
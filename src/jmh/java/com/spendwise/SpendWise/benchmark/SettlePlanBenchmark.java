@@ -0,0 +1,48 @@
+package com.spendwise.SpendWise.benchmark;
+
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.util.SettlePlanUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Net balances + greedy transfer plan from /api/debts/settle-plan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SettlePlanBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"10", "1000"})
+    public int members;
+
+    private List<Debt> debts;
+
+    @Setup
+    public void setup() {
+        debts = BenchmarkData.groupDebts(rows, members);
+    }
+
+    @Benchmark
+    public SettlePlanUtil.Plan plan() {
+        return SettlePlanUtil.plan(debts);
+    }
+}
@@ -0,0 +1,39 @@
+package com.spendwise.SpendWise;
+
+import com.spendwise.SpendWise.services.ExpenseRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills {@code expense_rollups} at startup.
+ * rollup.backfill.mode: if-empty (default) | always | never.
+ * A one-off rebuild can be run with {@code --rollup.backfill.mode=always}.
+ */
+@Component
+public class RollupBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupBackfillRunner.class);
+
+    private final ExpenseRollupService rollups;
+    private final String mode;
+
+    public RollupBackfillRunner(ExpenseRollupService rollups, @Value("${rollup.backfill.mode:if-empty}") String mode) {
+        this.rollups = rollups;
+        this.mode = mode;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if ("always".equalsIgnoreCase(mode) || ("if-empty".equalsIgnoreCase(mode) && rollups.isEmpty())) {
+                rollups.rebuildAll();
+            }
+        } catch (Exception ex) {
+            log.warn("Expense rollup backfill failed | error={}", ex.getMessage());
+        }
+    }
+}
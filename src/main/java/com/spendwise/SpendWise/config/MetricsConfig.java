@@ -0,0 +1,78 @@
+package com.spendwise.SpendWise.config;
+
+import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.BudgetAlertService;
+import com.spendwise.SpendWise.services.GeminiChatService;
+import com.spendwise.SpendWise.util.BoundedTtlCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public MeterBinder principalCacheMetrics(AuthService auth) {
+        return registry -> bindCache(registry, "principal", auth.principalCache());
+    }
+
+    @Bean
+    public MeterBinder chatAnswerCacheMetrics(GeminiChatService gemini) {
+        return registry -> bindCache(registry, "chat-answers", gemini.answerCache());
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> SecondLevelCacheConfig.regions(secondLevelCacheManager)
+                .forEach((region, cache) -> bindCache(registry, "l2-" + region, cache));
+    }
+
+    @Bean
+    public MeterBinder budgetAlertMetrics(BudgetAlertService alerts) {
+        return registry -> {
+            Gauge.builder("spendwise.budget.alerts.streams", alerts, BudgetAlertService::openStreams)
+                    .description("Open budget alert SSE streams").register(registry);
+            Gauge.builder("spendwise.budget.alerts.subscribers", alerts, BudgetAlertService::subscribedUsers)
+                    .description("Users with at least one open budget alert stream").register(registry);
+            FunctionCounter.builder("spendwise.budget.alerts.sent", alerts, BudgetAlertService::alertsSent)
+                    .description("Budget threshold crossings pushed to subscribers").register(registry);
+        };
+    }
+
+    /** Exposes a {@link BoundedTtlCache}'s counters as spendwise.cache.* meters tagged with the cache name. */
+    public static void bindCache(MeterRegistry registry, String name, BoundedTtlCache<?, ?> cache) {
+        FunctionCounter.builder("spendwise.cache.requests", cache, BoundedTtlCache::hits)
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("spendwise.cache.requests", cache, BoundedTtlCache::misses)
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("spendwise.cache.evictions", cache, BoundedTtlCache::evictions)
+                .tag("cache", name).register(registry);
+        Gauge.builder("spendwise.cache.size", cache, BoundedTtlCache::size)
+                .tag("cache", name).register(registry);
+    }
+
+    /** Same spendwise.cache.* meters for a Caffeine cache with native statistics enabled. */
+    public static void bindCache(MeterRegistry registry, String name, Cache<?, ?> cache) {
+        FunctionCounter.builder("spendwise.cache.requests", cache, c -> c.stats().hitCount())
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("spendwise.cache.requests", cache, c -> c.stats().missCount())
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("spendwise.cache.evictions", cache, c -> c.stats().evictionCount())
+                .tag("cache", name).register(registry);
+        Gauge.builder("spendwise.cache.size", cache, Cache::estimatedSize)
+                .tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.spendwise.SpendWise.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts SQL statements Hibernate prepares on the current thread so {@link RequestMetricsFilter}
+ * can report queries per request. Statements issued through JdbcTemplate are not seen here.
+ * Work forked onto other threads is counted against the request via {@link #propagate}.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger c = COUNTER.get();
+        if (c != null) c.incrementAndGet();
+        return sql;
+    }
+
+    static void begin() {
+        COUNTER.set(new AtomicInteger());
+    }
+
+    static int end() {
+        AtomicInteger c = COUNTER.get();
+        COUNTER.remove();
+        return c == null ? 0 : c.get();
+    }
+
+    /** Wraps {@code task} so statements it runs on another thread count towards the caller's request. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        AtomicInteger parent = COUNTER.get();
+        if (parent == null) return task;
+        return () -> {
+            COUNTER.set(parent);
+            try {
+                return task.call();
+            } finally {
+                COUNTER.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.spendwise.SpendWise.config;
+
+import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.ExpenseWriteBehindService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * With write-behind on, an API request from a user who still has journaled expenses waiting to be
+ * inserted first waits for them (see ExpenseWriteBehindService#awaitCommitted), so every read and
+ * edit sees the user's own accepted writes. Adding another expense does not wait.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ExpenseWriteBehindService writeBehind;
+    private final AuthService auth;
+
+    public ReadYourWritesFilter(ExpenseWriteBehindService writeBehind, AuthService auth) {
+        this.writeBehind = writeBehind;
+        this.auth = auth;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!writeBehind.isEnabled() || !request.getRequestURI().startsWith("/api/")) return true;
+        return "POST".equals(request.getMethod()) && "/api/finance/expenses".equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            UserProfile u = auth.getByToken(authHeader.substring("Bearer ".length()));
+            if (u != null && !writeBehind.awaitCommitted(u.getId())) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setContentType("text/plain");
+                response.getWriter().write("Recent expenses are still being saved, please retry");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
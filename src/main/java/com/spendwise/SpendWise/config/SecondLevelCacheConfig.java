@@ -0,0 +1,75 @@
+package com.spendwise.SpendWise.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the read-mostly entities (Budget, Goal, UserProfile) and the
+ * query cache for their cacheable repository lookups. Every region is a bounded Caffeine cache
+ * created here; Hibernate is configured to fail on any other region. Writes through JPA keep both
+ * consistent (READ_WRITE entity regions, query results checked against per-table update
+ * timestamps); the TTL only bounds staleness from writes made outside Hibernate.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> ENTITY_REGIONS = List.of("budgets", "goals", "user-profiles");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${second-level-cache.entity-max-size:10000}") long entityMaxSize,
+                                                @Value("${second-level-cache.query-max-size:10000}") long queryMaxSize,
+                                                @Value("${second-level-cache.ttl-seconds:3600}") long ttlSeconds) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        OptionalLong ttl = OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds));
+        for (String region : ENTITY_REGIONS) {
+            create(manager, region, OptionalLong.of(entityMaxSize), ttl);
+        }
+        create(manager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, OptionalLong.of(queryMaxSize), ttl);
+        // one entry per table and never evicted: a dropped timestamp would let stale query results through
+        create(manager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, OptionalLong.empty(), OptionalLong.empty());
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return props -> {
+            props.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            props.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /** Native Caffeine cache behind each region, keyed by region name. */
+    public static Map<String, Cache<?, ?>> regions(CacheManager manager) {
+        Map<String, Cache<?, ?>> regions = new LinkedHashMap<>();
+        for (String name : manager.getCacheNames()) {
+            regions.put(name, manager.getCache(name).unwrap(Cache.class));
+        }
+        return regions;
+    }
+
+    private static void create(CacheManager manager, String name, OptionalLong maxSize, OptionalLong ttlNanos) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(maxSize);
+        config.setExpireAfterWrite(ttlNanos);
+        config.setNativeStatisticsEnabled(true);
+        // Hibernate already stores disassembled, immutable entries; copying them on every read buys nothing
+        config.setStoreByValue(false);
+        manager.destroyCache(name);
+        manager.createCache(name, config);
+    }
+}
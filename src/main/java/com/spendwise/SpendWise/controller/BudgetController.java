@@ -1,32 +1,37 @@
 package com.spendwise.SpendWise.controller;
 
 import com.spendwise.SpendWise.model.Budget;
-import com.spendwise.SpendWise.model.Expense;
 import com.spendwise.SpendWise.model.UserProfile;
 import com.spendwise.SpendWise.repository.BudgetRepository;
-import com.spendwise.SpendWise.repository.ExpenseRepository;
 import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.BudgetAlertService;
+import com.spendwise.SpendWise.services.DataVersionService;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/budgets")
 public class BudgetController {
 
     private final BudgetRepository budgets;
-    private final ExpenseRepository expenses;
     private final AuthService auth;
+    private final DataVersionService versions;
+    private final BudgetAlertService alerts;
 
-    public BudgetController(BudgetRepository budgets, ExpenseRepository expenses, AuthService auth) {
+    public BudgetController(BudgetRepository budgets, AuthService auth, DataVersionService versions, BudgetAlertService alerts) {
         this.budgets = budgets;
-        this.expenses = expenses;
         this.auth = auth;
+        this.versions = versions;
+        this.alerts = alerts;
     }
 
     private UserProfile requireUser(String authHeader) {
@@ -49,13 +54,21 @@ public class BudgetController {
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
         String category = (String) body.get("category");
-        Double limitAmount = body.get("limitAmount") == null ? 0.0 : Double.valueOf(body.get("limitAmount").toString());
+        long limitCents;
+        try {
+            limitCents = MoneyAmountUtil.parseCentsExact(body.get("limitAmount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         String period = (String) body.getOrDefault("period", "monthly");
         Integer month = body.get("month") == null ? LocalDate.now().getMonthValue() : Integer.valueOf(body.get("month").toString());
         Integer year = body.get("year") == null ? LocalDate.now().getYear() : Integer.valueOf(body.get("year").toString());
 
-        Budget budget = new Budget(u.getId(), category, limitAmount, period, month, year);
+        Budget budget = new Budget(u.getId(), category, null, period, month, year);
+        budget.setLimitAmountCents(limitCents);
         Budget saved = budgets.save(budget);
+        versions.bump(u.getId());
+        alerts.budgetsChanged(u.getId(), saved.getYear(), saved.getMonth());
         return ResponseEntity.ok(saved);
     }
 
@@ -67,14 +80,26 @@ public class BudgetController {
         Budget budget = budgets.findById(id).orElse(null);
         if (budget == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(budget.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
+        Integer oldYear = budget.getYear();
+        Integer oldMonth = budget.getMonth();
 
-        if (body.get("limitAmount") != null) budget.setLimitAmount(Double.valueOf(body.get("limitAmount").toString()));
+        try {
+            if (body.get("limitAmount") != null) budget.setLimitAmountCents(MoneyAmountUtil.parseCentsExact(body.get("limitAmount"), 0));
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         if (body.get("category") != null) budget.setCategory((String) body.get("category"));
         if (body.get("period") != null) budget.setPeriod((String) body.get("period"));
         if (body.get("month") != null) budget.setMonth(Integer.valueOf(body.get("month").toString()));
         if (body.get("year") != null) budget.setYear(Integer.valueOf(body.get("year").toString()));
 
         budgets.save(budget);
+        versions.bump(u.getId());
+        // moving a budget to another month changes the status of both months
+        alerts.budgetsChanged(u.getId(), budget.getYear(), budget.getMonth());
+        if (!Objects.equals(oldYear, budget.getYear()) || !Objects.equals(oldMonth, budget.getMonth())) {
+            alerts.budgetsChanged(u.getId(), oldYear, oldMonth);
+        }
         return ResponseEntity.ok(budget);
     }
 
@@ -88,52 +113,54 @@ public class BudgetController {
         if (!u.getId().equals(budget.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
 
         budgets.deleteById(id);
+        versions.bump(u.getId());
+        alerts.budgetsChanged(u.getId(), budget.getYear(), budget.getMonth());
         return ResponseEntity.ok(Map.of("status", "deleted"));
     }
 
     @GetMapping("/status")
-    public ResponseEntity<?> getStatus(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> getStatus(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                       @RequestParam(value = "month", required = false) Integer month,
+                                       @RequestParam(value = "year", required = false) Integer year,
+                                       WebRequest request) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
         LocalDate now = LocalDate.now();
-        int currentMonth = now.getMonthValue();
-        int currentYear = now.getYear();
+        int statusMonth = month == null ? now.getMonthValue() : month;
+        int statusYear = year == null ? now.getYear() : year;
+        if (statusMonth < 1 || statusMonth > 12) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid month");
+        // resolved month/year are part of the tag: "current month" changes at midnight without a write
+        if (request.checkNotModified(versions.etag(u.getId(), "budget-status", statusMonth, statusYear))) return null;
 
-        List<Budget> userBudgets = budgets.findByOwnerId(u.getId());
-        List<Expense> monthExpenses = expenses.findByOwnerId(u.getId()).stream()
-                .filter(e -> e.getDate() != null && e.getDate().getMonthValue() == currentMonth && e.getDate().getYear() == currentYear)
-                .toList();
-
-        Map<String, Map<String, Object>> statusMap = new HashMap<>();
-
-        for (Budget budget : userBudgets) {
-            if (!"monthly".equals(budget.getPeriod())) continue;
-            if (!budget.getMonth().equals(currentMonth) || !budget.getYear().equals(currentYear)) continue;
-
-            double spent = monthExpenses.stream()
-                    .filter(e -> budget.getCategory().equals(e.getCategory()))
-                    .mapToDouble(e -> e.getAmount() == null ? 0 : e.getAmount())
-                    .sum();
-
-            double limit = budget.getLimitAmount() == null ? 0 : budget.getLimitAmount();
-            double percentage = limit > 0 ? (spent / limit) * 100 : 0;
-            boolean isOverBudget = spent > limit;
-            boolean isNearLimit = percentage >= 80 && !isOverBudget;
-
-            Map<String, Object> status = new HashMap<>();
-            status.put("budgetId", budget.getId());
-            status.put("category", budget.getCategory());
-            status.put("limit", limit);
-            status.put("spent", spent);
-            status.put("remaining", limit - spent);
-            status.put("percentage", percentage);
-            status.put("isOverBudget", isOverBudget);
-            status.put("isNearLimit", isNearLimit);
-
-            statusMap.put(budget.getCategory(), status);
-        }
+        return ResponseEntity.ok(alerts.status(u.getId(), statusYear, statusMonth));
+    }
+
+    /** Single-use ticket for opening /alerts/stream from an EventSource; expires after a minute. */
+    @PostMapping("/alerts/ticket")
+    public ResponseEntity<?> alertStreamTicket(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        UserProfile u = requireUser(authHeader);
+        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+
+        return ResponseEntity.ok(Map.of("ticket", auth.issueStreamTicket(u.getId())));
+    }
 
-        return ResponseEntity.ok(statusMap);
+    /**
+     * Server-Sent Events: a {@code budget-status} event with this month's status, then a
+     * {@code budget-alert} event whenever a budget crosses the near-limit or over-budget line.
+     * EventSource cannot set headers, so it passes a ticket from /alerts/ticket as {@code ?ticket=}
+     * instead; the bearer token itself is never accepted in the URL.
+     */
+    @GetMapping("/alerts/stream")
+    public Object alertStream(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                              @RequestParam(value = "ticket", required = false) String ticket) {
+        UserProfile u = requireUser(authHeader);
+        if (u == null && ticket != null) u = auth.redeemStreamTicket(ticket);
+        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        try {
+            return alerts.subscribe(u.getId());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+        }
     }
 }
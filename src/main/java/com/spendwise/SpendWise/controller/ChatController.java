@@ -1,111 +1,95 @@
 package com.spendwise.SpendWise.controller;
 
+import com.spendwise.SpendWise.services.GeminiChatService;
+import com.spendwise.SpendWise.services.GeminiRateLimiter;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/chat")
 public class ChatController {
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
-
-    @Value("${gemini.api.url}")
-    private String geminiApiUrl;
+    private static final Logger log = LoggerFactory.getLogger(ChatController.class);
 
     @Value("${gemini.model}")
     private String geminiModel;
 
-    private final WebClient webClient;
+    private final GeminiChatService gemini;
 
-    public ChatController(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    public ChatController(GeminiChatService gemini) {
+        this.gemini = gemini;
     }
 
+    /**
+     * Returns a Mono so the servlet thread is released while Gemini is working;
+     * Spring MVC completes the response asynchronously.
+     */
     @PostMapping("/ask")
-    public ResponseEntity<?> askQuestion(@RequestBody Map<String, String> request) {
+    public Mono<ResponseEntity<Map<String, Object>>> askQuestion(@RequestBody Map<String, String> request) {
         String question = request.get("question");
-        
+
         if (question == null || question.trim().isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Question is required"));
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "Question is required")));
         }
 
-        try {
-            // Build the Gemini request with proper format
-            Map<String, Object> textPart = new HashMap<>();
-            textPart.put("text", question);
-            
-            Map<String, Object> contentItem = new HashMap<>();
-            contentItem.put("parts", List.of(textPart));
-            
-            Map<String, Object> geminiRequest = new HashMap<>();
-            geminiRequest.put("contents", List.of(contentItem));
-
-            // Call Gemini API with API key as query parameter
-            String urlWithKey = geminiApiUrl + "?key=" + geminiApiKey;
-            
-            Mono<Map> responseMono = webClient.post()
-                .uri(urlWithKey)
-                .header("Content-Type", "application/json")
-                .bodyValue(geminiRequest)
-                .retrieve()
-                .bodyToMono(Map.class);
-
-            Map<String, Object> geminiResponse = responseMono.block();
-            
-            if (geminiResponse != null && geminiResponse.containsKey("candidates")) {
-                List<Map<String, Object>> candidates = (List<Map<String, Object>>) geminiResponse.get("candidates");
-                if (!candidates.isEmpty()) {
-                    Map<String, Object> responseContent = (Map<String, Object>) candidates.get(0).get("content");
-                    List<Map<String, Object>> parts = (List<Map<String, Object>>) responseContent.get("parts");
-                    if (!parts.isEmpty()) {
-                        String answer = (String) parts.get(0).get("text");
-                        
-                        return ResponseEntity.ok(Map.of(
-                            "answer", answer.trim(),
-                            "source", "gemini"
-                        ));
-                    }
-                }
-            }
+        return gemini.ask(question)
+                .map(answer -> ResponseEntity.ok(Map.<String, Object>of(
+                        "answer", answer,
+                        "source", "gemini"
+                )))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("error", "Failed to get response from AI")))
+                .onErrorResume(ChatController::errorResponse);
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "Failed to get response from AI"));
+    private static Mono<ResponseEntity<Map<String, Object>>> errorResponse(Throwable e) {
+        log.warn("Gemini call failed | error={}", e.toString());
+        if (e instanceof WebClientResponseException.TooManyRequests) {
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Rate limit exceeded. Please wait a few minutes and try again.")));
+        }
+        if (e instanceof GeminiRateLimiter.QueueFullException) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(Map.of("error", "The AI service is busy. Please try again in a few seconds.")));
+        }
+        if (isTimeout(e)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(Map.of("error", "The AI service took too long to respond. Please try again.")));
+        }
+        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error communicating with AI: " + e.getMessage())));
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            
-            // Check if it's a rate limit error (429)
-            String errorMsg = e.getMessage();
-            if (errorMsg != null && (errorMsg.contains("429") || errorMsg.contains("Too Many Requests"))) {
-                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .body(Map.of("error", "Rate limit exceeded. Please wait a few minutes and try again."));
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof ReadTimeoutException || t instanceof ConnectTimeoutException) {
+                return true;
             }
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "Error communicating with AI: " + e.getMessage()));
         }
+        return false;
     }
 
     @GetMapping("/health")
     public ResponseEntity<?> healthCheck() {
-        boolean apiKeyConfigured = geminiApiKey != null && 
-                                   !geminiApiKey.isEmpty() && 
-                                   !geminiApiKey.equals("your-api-key-here");
-        
         return ResponseEntity.ok(Map.of(
             "status", "ok",
-            "apiKeyConfigured", apiKeyConfigured,
+            "apiKeyConfigured", gemini.isApiKeyConfigured(),
             "model", geminiModel,
-            "provider", "Google Gemini"
+            "provider", "Google Gemini",
+            "answerCache", gemini.answerCacheStats(),
+            "rateLimiter", gemini.rateLimiterStats()
         ));
     }
 }
@@ -2,18 +2,26 @@ package com.spendwise.SpendWise.controller;
 
 import com.spendwise.SpendWise.model.Debt;
 import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.repository.CounterpartyTotal;
 import com.spendwise.SpendWise.repository.DebtRepository;
 import com.spendwise.SpendWise.repository.UserProfileRepository;
 import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.DataVersionService;
+import com.spendwise.SpendWise.services.DebtSettlementService;
+import com.spendwise.SpendWise.util.DebtSummaryUtil;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import com.spendwise.SpendWise.util.SettlePlanUtil;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/debts")
@@ -22,11 +30,15 @@ public class DebtController {
     private final DebtRepository debts;
     private final AuthService auth;
     private final UserProfileRepository users;
+    private final DataVersionService versions;
+    private final DebtSettlementService settlement;
 
-    public DebtController(DebtRepository debts, AuthService auth, UserProfileRepository users) {
+    public DebtController(DebtRepository debts, AuthService auth, UserProfileRepository users, DataVersionService versions, DebtSettlementService settlement) {
         this.debts = debts;
         this.auth = auth;
         this.users = users;
+        this.versions = versions;
+        this.settlement = settlement;
     }
 
     private UserProfile requireUser(String authHeader) {
@@ -50,13 +62,20 @@ public class DebtController {
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
         Long toUserId = body.get("toUserId") == null ? null : Long.valueOf(body.get("toUserId").toString());
-        Double amount = body.get("amount") == null ? 0.0 : Double.valueOf(body.get("amount").toString());
+        long amountCents;
+        try {
+            amountCents = MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         String description = (String) body.get("description");
         String dateStr = (String) body.get("date");
         LocalDate date = dateStr == null ? LocalDate.now() : LocalDate.parse(dateStr);
 
-        Debt debt = new Debt(u.getId(), toUserId, amount, description, date);
+        Debt debt = new Debt(u.getId(), toUserId, null, description, date);
+        debt.setAmountCents(amountCents);
         Debt saved = debts.save(debt);
+        versions.bump(saved.getFromUserId(), saved.getToUserId());
         return ResponseEntity.ok(saved);
     }
 
@@ -75,6 +94,7 @@ public class DebtController {
 
         debt.setStatus("settled");
         debts.save(debt);
+        versions.bump(debt.getFromUserId(), debt.getToUserId());
         return ResponseEntity.ok(debt);
     }
 
@@ -83,42 +103,67 @@ public class DebtController {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
-        List<Debt> pendingDebts = debts.findPendingDebtsByUserId(u.getId());
-        
-        double totalOwed = pendingDebts.stream()
-                .filter(d -> d.getFromUserId().equals(u.getId()))
-                .mapToDouble(d -> d.getAmount() == null ? 0 : d.getAmount())
-                .sum();
-        
-        double totalOwedToYou = pendingDebts.stream()
-                .filter(d -> d.getToUserId().equals(u.getId()))
-                .mapToDouble(d -> d.getAmount() == null ? 0 : d.getAmount())
-                .sum();
-
-        // Group by person
-        Map<Long, Double> owedByPerson = new HashMap<>();
-        Map<Long, Double> owedToPerson = new HashMap<>();
-
-        for (Debt debt : pendingDebts) {
-            if (debt.getFromUserId().equals(u.getId())) {
-                Long toId = debt.getToUserId();
-                double amt = debt.getAmount() == null ? 0 : debt.getAmount();
-                owedByPerson.put(toId, owedByPerson.getOrDefault(toId, 0.0) + amt);
-            } else if (debt.getToUserId().equals(u.getId())) {
-                Long fromId = debt.getFromUserId();
-                double amt = debt.getAmount() == null ? 0 : debt.getAmount();
-                owedToPerson.put(fromId, owedToPerson.getOrDefault(fromId, 0.0) + amt);
-            }
-        }
+        List<CounterpartyTotal> owed = debts.sumPendingOwedByCounterparty(u.getId());
+        List<CounterpartyTotal> owedToYou = debts.sumPendingOwedToByCounterparty(u.getId());
+        Map<String, Object> summary = DebtSummaryUtil.summarize(owed, owedToYou);
+
+        // one batched lookup for every counterparty's display name
+        Set<Long> counterparties = new HashSet<>();
+        owed.forEach(t -> counterparties.add(t.getCounterpartyId()));
+        owedToYou.forEach(t -> counterparties.add(t.getCounterpartyId()));
+        counterparties.remove(null);
+        Map<Long, String> names = new HashMap<>();
+        for (UserProfile p : users.findAllById(counterparties)) names.put(p.getId(), p.getName());
+        summary.put("names", names);
+        return ResponseEntity.ok(summary);
+    }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalOwed", totalOwed);
-        summary.put("totalOwedToYou", totalOwedToYou);
-        summary.put("netBalance", totalOwedToYou - totalOwed);
-        summary.put("owedByPerson", owedByPerson);
-        summary.put("owedToPerson", owedToPerson);
+    /**
+     * Minimal set of transfers that clears every pending debt in the group (for the group owner) or
+     * the user's own debts, one transfer per counterparty. Pass the returned fingerprint to /settle-plan/apply.
+     */
+    @GetMapping("/settle-plan")
+    public ResponseEntity<?> getSettlePlan(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        UserProfile u = requireUser(authHeader);
+        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok(planResponse(settlement.plan(u)));
+    }
+
+    @PostMapping("/settle-plan/apply")
+    public ResponseEntity<?> applySettlePlan(@RequestHeader(value = "Authorization", required = false) String authHeader, @RequestBody Map<String, Object> body) {
+        UserProfile u = requireUser(authHeader);
+        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+
+        String fingerprint = body.get("fingerprint") == null ? null : body.get("fingerprint").toString();
+        if (fingerprint == null || fingerprint.isBlank()) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Missing fingerprint");
+
+        SettlePlanUtil.Plan applied = settlement.apply(u, fingerprint);
+        if (applied == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Pending debts changed since the plan was computed; fetch a new plan");
+        }
+        Map<String, Object> resp = planResponse(applied);
+        resp.put("status", "settled");
+        resp.put("settledDebts", applied.debtCount());
+        return ResponseEntity.ok(resp);
+    }
+
+    private static Map<String, Object> planResponse(SettlePlanUtil.Plan plan) {
+        Map<Long, Double> balances = new HashMap<>();
+        plan.balancesCents().forEach((id, cents) -> {
+            if (cents != 0) balances.put(id, cents / 100.0);
+        });
+        List<Map<String, Object>> transfers = new ArrayList<>(plan.transfers().size());
+        for (SettlePlanUtil.Transfer t : plan.transfers()) {
+            transfers.add(Map.of("fromUserId", t.fromUserId(), "toUserId", t.toUserId(), "amount", t.amount()));
+        }
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("fingerprint", plan.fingerprint());
+        resp.put("debtCount", plan.debtCount());
+        resp.put("balances", balances);
+        resp.put("transfers", transfers);
+        resp.put("transferCount", transfers.size());
+        return resp;
     }
 
     @DeleteMapping("/{id}")
@@ -134,6 +179,7 @@ public class DebtController {
         }
 
         debts.deleteById(id);
+        versions.bump(debt.getFromUserId(), debt.getToUserId());
         return ResponseEntity.ok(Map.of("status", "deleted"));
     }
 }
@@ -4,20 +4,48 @@ import com.spendwise.SpendWise.model.Income;
 import com.spendwise.SpendWise.model.Expense;
 import com.spendwise.SpendWise.model.Investment;
 import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.model.UserTotals;
 import com.spendwise.SpendWise.repository.IncomeRepository;
+import com.spendwise.SpendWise.repository.CategoryTotal;
+import com.spendwise.SpendWise.repository.DailyTotal;
 import com.spendwise.SpendWise.repository.ExpenseRepository;
+import com.spendwise.SpendWise.repository.ExpenseRollupRepository;
 import com.spendwise.SpendWise.repository.InvestmentRepository;
 import com.spendwise.SpendWise.repository.UserProfileRepository;
+import com.spendwise.SpendWise.services.ArchiveService;
 import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.ColdTierService;
+import com.spendwise.SpendWise.services.DataVersionService;
+import com.spendwise.SpendWise.services.ExpenseRollupService;
+import com.spendwise.SpendWise.services.ExpenseWriteBehindService;
+import com.spendwise.SpendWise.services.ExportService;
 import com.spendwise.SpendWise.services.FinanceService;
+import com.spendwise.SpendWise.services.ImportService;
+import com.spendwise.SpendWise.services.ParallelQueryExecutor;
+import com.spendwise.SpendWise.services.RunningTotalsService;
+import com.spendwise.SpendWise.util.HealthScoreUtil;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import com.spendwise.SpendWise.util.PageCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/finance")
@@ -29,14 +57,32 @@ public class FinanceController {
     private final AuthService auth;
     private final UserProfileRepository usersRepo;
     private final FinanceService financeService;
-
-    public FinanceController(IncomeRepository incomes, ExpenseRepository expenses, InvestmentRepository investments, AuthService auth, UserProfileRepository usersRepo, FinanceService financeService) {
+    private final ExportService exportService;
+    private final ExpenseRollupRepository rollups;
+    private final ImportService importService;
+    private final ParallelQueryExecutor parallel;
+    private final DataVersionService versions;
+    private final RunningTotalsService runningTotals;
+    private final ArchiveService archiveService;
+    private final ColdTierService coldTier;
+    private final ExpenseWriteBehindService writeBehind;
+
+    public FinanceController(IncomeRepository incomes, ExpenseRepository expenses, InvestmentRepository investments, AuthService auth, UserProfileRepository usersRepo, FinanceService financeService, ExportService exportService, ExpenseRollupRepository rollups, ImportService importService, ParallelQueryExecutor parallel, DataVersionService versions, RunningTotalsService runningTotals, ArchiveService archiveService, ColdTierService coldTier, ExpenseWriteBehindService writeBehind) {
         this.incomes = incomes;
         this.expenses = expenses;
         this.investments = investments;
         this.auth = auth;
         this.usersRepo = usersRepo;
         this.financeService = financeService;
+        this.exportService = exportService;
+        this.rollups = rollups;
+        this.importService = importService;
+        this.parallel = parallel;
+        this.versions = versions;
+        this.runningTotals = runningTotals;
+        this.archiveService = archiveService;
+        this.coldTier = coldTier;
+        this.writeBehind = writeBehind;
     }
 
     private UserProfile requireUser(String authHeader) {
@@ -45,23 +91,67 @@ public class FinanceController {
         return auth.getByToken(token);
     }
 
+    // rows in the cold tier are moved back to the hot table before they are edited or deleted
+    private Income findEditableIncome(Long id, Long ownerId) {
+        Income inc = incomes.findById(id).orElse(null);
+        if (inc == null && coldTier.thawIncome(id, ownerId)) inc = incomes.findById(id).orElse(null);
+        return inc;
+    }
+
+    private Expense findEditableExpense(Long id, Long ownerId) {
+        Expense ex = expenses.findById(id).orElse(null);
+        if (ex == null && coldTier.thawExpense(id, ownerId)) ex = expenses.findById(id).orElse(null);
+        return ex;
+    }
+
+    private static final int SUMMARY_DEFAULT_LIMIT = 20;
+    private static final int SUMMARY_MAX_LIMIT = 200;
+
     @GetMapping("/summary")
-    public ResponseEntity<?> summary(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> summary(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                     @RequestParam(value = "mode", required = false) String mode,
+                                     @RequestParam(value = "limit", required = false) Integer limit,
+                                     @RequestParam(value = "from", required = false) String from,
+                                     @RequestParam(value = "to", required = false) String to,
+                                     WebRequest request) throws InterruptedException {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        if (request.checkNotModified(versions.etag(u.getId(), "summary", mode, limit, from, to))) return null;
 
-        // incomes stored as records plus monthlyIncome values on profiles
-        List<Income> inc = incomes.findByOwnerId(u.getId());
-        List<Expense> exp = expenses.findByOwnerId(u.getId());
-        List<Investment> inv = investments.findByOwnerId(u.getId());
+        if ("aggregate".equalsIgnoreCase(mode)) {
+            return aggregateSummary(u, limit, from, to);
+        }
+
+        // incomes stored as records plus monthlyIncome values on profiles; the four reads are independent
+        List<Income> inc;
+        List<Expense> exp;
+        List<Investment> inv;
+        double membersMonthly;
+        try (ParallelQueryExecutor.Scope scope = parallel.open()) {
+            Supplier<List<Income>> incTask = scope.fork(() -> incomes.findByOwnerId(u.getId()));
+            Supplier<List<Expense>> expTask = scope.fork(() -> expenses.findByOwnerId(u.getId()));
+            Supplier<List<Investment>> invTask = scope.fork(() -> investments.findByOwnerId(u.getId()));
+            Supplier<Double> membersTask = scope.fork(() -> usersRepo.sumMonthlyIncomeByOwnerId(u.getId()));
+            scope.join();
+            inc = incTask.get();
+            exp = expTask.get();
+            inv = invTask.get();
+            membersMonthly = membersTask.get();
+        } catch (TimeoutException ex) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ex.getMessage());
+        }
 
-        double incomesSum = inc.stream().mapToDouble(i -> i.getAmount() == null ? 0 : i.getAmount()).sum();
+        long incomesCents = 0;
+        for (Income i : inc) incomesCents += i.getAmountCents();
+        long expenseCents = 0;
+        for (Expense e : exp) expenseCents += e.getAmountCents();
+        long investCents = 0;
+        for (Investment iv : inv) investCents += iv.getAmountCents();
         // include profile monthlyIncome for the current user and their members (if any)
         double profileMonthly = u.getMonthlyIncome() == null ? 0 : u.getMonthlyIncome();
-        double membersMonthly = usersRepo.findByOwnerId(u.getId()).stream().mapToDouble(m -> m.getMonthlyIncome() == null ? 0 : m.getMonthlyIncome()).sum();
-        double totalIncome = profileMonthly + membersMonthly + incomesSum;
-        double totalExpense = exp.stream().mapToDouble(e -> e.getAmount() == null ? 0 : e.getAmount()).sum();
-        double totalInvest = inv.stream().mapToDouble(iv -> iv.getAmount() == null ? 0 : iv.getAmount()).sum();
+        double totalIncome = profileMonthly + membersMonthly + MoneyAmountUtil.toDouble(incomesCents);
+        double totalExpense = MoneyAmountUtil.toDouble(expenseCents);
+        double totalInvest = MoneyAmountUtil.toDouble(investCents);
 
         Map<String,Object> resp = new HashMap<>();
         resp.put("incomes", inc);
@@ -74,36 +164,160 @@ public class FinanceController {
         return ResponseEntity.ok(resp);
     }
 
+    /**
+     * Totals are computed with SQL aggregates over the full history; only the most recent
+     * {@code limit} rows per type (optionally restricted to [from, to]) are returned.
+     */
+    private ResponseEntity<?> aggregateSummary(UserProfile u, Integer limit, String from, String to) throws InterruptedException {
+        int window = limit == null ? SUMMARY_DEFAULT_LIMIT : Math.max(1, Math.min(SUMMARY_MAX_LIMIT, limit));
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = from == null ? null : LocalDate.parse(from);
+            toDate = to == null ? null : LocalDate.parse(to);
+        } catch (java.time.format.DateTimeParseException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid date, expected yyyy-MM-dd");
+        }
+        boolean ranged = fromDate != null || toDate != null;
+        if (fromDate == null) fromDate = LocalDate.of(1, 1, 1);
+        if (toDate == null) toDate = LocalDate.of(9999, 12, 31);
+        Limit rows = Limit.of(window);
+
+        Long ownerId = u.getId();
+        LocalDate f = fromDate;
+        LocalDate t = toDate;
+        Map<String,Object> resp = new HashMap<>();
+        double totalIncome;
+        double totalExpense;
+        double totalInvest;
+        try (ParallelQueryExecutor.Scope scope = parallel.open()) {
+            Supplier<List<Income>> inc = scope.fork(() -> ranged
+                    ? incomes.findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(ownerId, f, t, rows)
+                    : incomes.findByOwnerIdOrderByDateDescIdDesc(ownerId, rows));
+            Supplier<List<Expense>> exp = scope.fork(() -> ranged
+                    ? expenses.findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(ownerId, f, t, rows)
+                    : expenses.findByOwnerIdOrderByDateDescIdDesc(ownerId, rows));
+            Supplier<List<Investment>> inv = scope.fork(() -> ranged
+                    ? investments.findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(ownerId, f, t, rows)
+                    : investments.findByOwnerIdOrderByDateDescIdDesc(ownerId, rows));
+            Supplier<Double> membersMonthly = scope.fork(() -> usersRepo.sumMonthlyIncomeByOwnerId(ownerId));
+            Supplier<Long> incomesSum = scope.fork(() -> incomes.sumAmountCentsByOwnerId(ownerId));
+            Supplier<Long> expensesSum = scope.fork(() -> expenses.sumAmountCentsByOwnerId(ownerId));
+            Supplier<Long> investmentsSum = scope.fork(() -> investments.sumAmountCentsByOwnerId(ownerId));
+            Supplier<Long> incomeCount = scope.fork(() -> incomes.countByOwnerId(ownerId));
+            Supplier<Long> expenseCount = scope.fork(() -> expenses.countByOwnerId(ownerId));
+            Supplier<Long> investmentCount = scope.fork(() -> investments.countByOwnerId(ownerId));
+            scope.join();
+
+            double profileMonthly = u.getMonthlyIncome() == null ? 0 : u.getMonthlyIncome();
+            totalIncome = profileMonthly + membersMonthly.get() + MoneyAmountUtil.toDouble(incomesSum.get());
+            totalExpense = MoneyAmountUtil.toDouble(expensesSum.get());
+            totalInvest = MoneyAmountUtil.toDouble(investmentsSum.get());
+            resp.put("incomes", inc.get());
+            resp.put("expenses", exp.get());
+            resp.put("investments", inv.get());
+            resp.put("incomeCount", incomeCount.get());
+            resp.put("expenseCount", expenseCount.get());
+            resp.put("investmentCount", investmentCount.get());
+        } catch (TimeoutException ex) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ex.getMessage());
+        }
+
+        resp.put("mode", "aggregate");
+        resp.put("limit", window);
+        resp.put("totalIncome", totalIncome);
+        resp.put("totalExpense", totalExpense);
+        resp.put("totalInvestment", totalInvest);
+        resp.put("net", totalIncome - totalExpense - totalInvest);
+        return ResponseEntity.ok(resp);
+    }
+
+    private static final int PAGE_DEFAULT_LIMIT = 50;
+    private static final int PAGE_MAX_LIMIT = 500;
+
+    /** Parsed keyset-pagination parameters; a missing bound means "unbounded". */
+    private record PageQuery(LocalDate from, LocalDate to, PageCursor after, int limit) {
+        static PageQuery parse(String cursor, Integer limit, String from, String to) {
+            try {
+                return new PageQuery(
+                        from == null ? LocalDate.of(1, 1, 1) : LocalDate.parse(from),
+                        to == null ? LocalDate.of(9999, 12, 31) : LocalDate.parse(to),
+                        PageCursor.decode(cursor),
+                        limit == null ? PAGE_DEFAULT_LIMIT : Math.max(1, Math.min(PAGE_MAX_LIMIT, limit)));
+            } catch (java.time.format.DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid date, expected yyyy-MM-dd");
+            }
+        }
+
+        Limit fetchLimit() {
+            // one extra row tells us whether another page exists
+            return Limit.of(limit + 1);
+        }
+    }
+
+    private static <T> Map<String,Object> page(List<T> rows, int limit, Function<T, LocalDate> date, Function<T, Long> id) {
+        boolean more = rows.size() > limit;
+        List<T> items = more ? rows.subList(0, limit) : rows;
+        Map<String,Object> resp = new HashMap<>();
+        resp.put("items", items);
+        resp.put("limit", limit);
+        if (more) {
+            T last = items.get(items.size() - 1);
+            resp.put("nextCursor", new PageCursor(date.apply(last), id.apply(last)).encode());
+        } else {
+            resp.put("nextCursor", null);
+        }
+        return resp;
+    }
+
     @GetMapping("/incomes")
-    public ResponseEntity<?> listIncomes(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> listIncomes(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                         @RequestParam(value = "from", required = false) String from,
+                                         @RequestParam(value = "to", required = false) String to) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        List<Income> inc = incomes.findByOwnerIdOrId(u.getId(), u.getId());
-        return ResponseEntity.ok(inc);
+        if (cursor == null && limit == null && from == null && to == null) {
+            List<Income> inc = incomes.findByOwnerIdOrId(u.getId(), u.getId());
+            return ResponseEntity.ok(inc);
+        }
+        PageQuery q;
+        try {
+            q = PageQuery.parse(cursor, limit, from, to);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+        List<Income> rows = incomes.findPage(u.getId(), q.from(), q.to(), q.after().date(), q.after().id(), q.fetchLimit());
+        return ResponseEntity.ok(page(rows, q.limit(), Income::getDate, Income::getId));
     }
 
     @PutMapping("/incomes/{id}")
     public ResponseEntity<?> updateIncome(@RequestHeader(value = "Authorization", required = false) String authHeader, @PathVariable Long id, @RequestBody Map<String,Object> body) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        Income inc = incomes.findById(id).orElse(null);
+        Income inc = findEditableIncome(id, u.getId());
         if (inc == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(inc.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
-        if (body.get("amount") != null) inc.setAmount(Double.valueOf(body.get("amount").toString()));
-        if (body.get("description") != null) inc.setDescription((String)body.get("description"));
-        if (body.get("date") != null) inc.setDate(LocalDate.parse((String)body.get("date")));
-        incomes.save(inc);
-        return ResponseEntity.ok(inc);
+        Long amountCents;
+        try {
+            amountCents = body.get("amount") == null ? null : MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
+        LocalDate date = body.get("date") == null ? null : LocalDate.parse((String)body.get("date"));
+        Income saved = financeService.updateIncome(inc, amountCents, (String)body.get("description"), date);
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/incomes/{id}")
     public ResponseEntity<?> deleteIncome(@RequestHeader(value = "Authorization", required = false) String authHeader, @PathVariable Long id) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        Income inc = incomes.findById(id).orElse(null);
+        Income inc = findEditableIncome(id, u.getId());
         if (inc == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(inc.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
-        incomes.deleteById(id);
+        financeService.deleteIncome(inc);
         return ResponseEntity.ok(Map.of("status","deleted"));
     }
 
@@ -112,47 +326,73 @@ public class FinanceController {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
-        Double amount = body.get("amount") == null ? 0.0 : Double.valueOf(body.get("amount").toString());
+        long amountCents;
+        try {
+            amountCents = MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         String description = (String) body.get("description");
         String dateStr = (String) body.get("date");
         LocalDate date = dateStr == null ? LocalDate.now() : LocalDate.parse(dateStr);
 
-        Income inc = new Income(u.getId(), amount, description, date);
-        Income saved = incomes.save(inc);
+        Income inc = new Income(u.getId(), null, description, date);
+        inc.setAmountCents(amountCents);
+        Income saved = financeService.createIncome(inc);
         return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/expenses")
-    public ResponseEntity<?> listExpenses(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> listExpenses(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "limit", required = false) Integer limit,
+                                          @RequestParam(value = "from", required = false) String from,
+                                          @RequestParam(value = "to", required = false) String to,
+                                          @RequestParam(value = "category", required = false) String category) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        List<Expense> exp = expenses.findByOwnerId(u.getId());
-        return ResponseEntity.ok(exp);
+        if (cursor == null && limit == null && from == null && to == null && category == null) {
+            List<Expense> exp = expenses.findByOwnerId(u.getId());
+            return ResponseEntity.ok(exp);
+        }
+        PageQuery q;
+        try {
+            q = PageQuery.parse(cursor, limit, from, to);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+        List<Expense> rows = category == null
+                ? expenses.findPage(u.getId(), q.from(), q.to(), q.after().date(), q.after().id(), q.fetchLimit())
+                : expenses.findPageByCategory(u.getId(), category, q.from(), q.to(), q.after().date(), q.after().id(), q.fetchLimit());
+        return ResponseEntity.ok(page(rows, q.limit(), Expense::getDate, Expense::getId));
     }
 
     @PutMapping("/expenses/{id}")
     public ResponseEntity<?> updateExpense(@RequestHeader(value = "Authorization", required = false) String authHeader, @PathVariable Long id, @RequestBody Map<String,Object> body) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        Expense ex = expenses.findById(id).orElse(null);
+        Expense ex = findEditableExpense(id, u.getId());
         if (ex == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(ex.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
-        if (body.get("amount") != null) ex.setAmount(Double.valueOf(body.get("amount").toString()));
-        if (body.get("description") != null) ex.setDescription((String)body.get("description"));
-        if (body.get("date") != null) ex.setDate(LocalDate.parse((String)body.get("date")));
-        if (body.get("category") != null) ex.setCategory((String)body.get("category"));
-        expenses.save(ex);
-        return ResponseEntity.ok(ex);
+        Long amountCents;
+        try {
+            amountCents = body.get("amount") == null ? null : MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
+        LocalDate date = body.get("date") == null ? null : LocalDate.parse((String)body.get("date"));
+        Expense saved = financeService.updateExpense(ex, amountCents, (String)body.get("description"), date, (String)body.get("category"));
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/expenses/{id}")
     public ResponseEntity<?> deleteExpense(@RequestHeader(value = "Authorization", required = false) String authHeader, @PathVariable Long id) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        Expense ex = expenses.findById(id).orElse(null);
+        Expense ex = findEditableExpense(id, u.getId());
         if (ex == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(ex.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
-        expenses.deleteById(id);
+        financeService.deleteExpense(ex);
         return ResponseEntity.ok(Map.of("status","deleted"));
     }
 
@@ -160,7 +400,12 @@ public class FinanceController {
     public ResponseEntity<?> createExpense(@RequestHeader(value = "Authorization", required = false) String authHeader, @RequestBody Map<String,Object> body) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        Double amount = body.get("amount") == null ? 0.0 : Double.valueOf(body.get("amount").toString());
+        long amountCents;
+        try {
+            amountCents = MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         String description = (String) body.get("description");
         String dateStr = (String) body.get("date");
         LocalDate date = dateStr == null ? LocalDate.now() : LocalDate.parse(dateStr);
@@ -168,22 +413,48 @@ public class FinanceController {
 
         // If the current user is a group owner, use transactional financeService to create splits
         if ("group".equalsIgnoreCase(u.getAccountType())) {
-            Map<String,Object> res = financeService.createSplitExpense(u, amount, description, date);
+            Map<String,Object> res = financeService.createSplitExpense(u, amountCents, description, date);
             return ResponseEntity.ok(res);
         }
 
         // individual account: single expense
-        Expense e = new Expense(u.getId(), amount, description, date, category);
-        Expense saved = expenses.save(e);
+        Expense e = new Expense(u.getId(), null, description, date, category);
+        e.setAmountCents(amountCents);
+        if (writeBehind.isEnabled()) {
+            // journaled and acknowledged now, inserted by the committer shortly after (no id yet)
+            try {
+                writeBehind.accept(e);
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+            } catch (IllegalStateException | UncheckedIOException ex) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Could not accept the expense: " + ex.getMessage());
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(e);
+        }
+        Expense saved = financeService.createExpense(e);
         return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/investments")
-    public ResponseEntity<?> listInvestments(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> listInvestments(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                             @RequestParam(value = "cursor", required = false) String cursor,
+                                             @RequestParam(value = "limit", required = false) Integer limit,
+                                             @RequestParam(value = "from", required = false) String from,
+                                             @RequestParam(value = "to", required = false) String to) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-        List<Investment> inv = investments.findByOwnerId(u.getId());
-        return ResponseEntity.ok(inv);
+        if (cursor == null && limit == null && from == null && to == null) {
+            List<Investment> inv = investments.findByOwnerId(u.getId());
+            return ResponseEntity.ok(inv);
+        }
+        PageQuery q;
+        try {
+            q = PageQuery.parse(cursor, limit, from, to);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+        List<Investment> rows = investments.findPage(u.getId(), q.from(), q.to(), q.after().date(), q.after().id(), q.fetchLimit());
+        return ResponseEntity.ok(page(rows, q.limit(), Investment::getDate, Investment::getId));
     }
 
     @PutMapping("/investments/{id}")
@@ -193,11 +464,15 @@ public class FinanceController {
         Investment iv = investments.findById(id).orElse(null);
         if (iv == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(iv.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
-        if (body.get("amount") != null) iv.setAmount(Double.valueOf(body.get("amount").toString()));
-        if (body.get("description") != null) iv.setDescription((String)body.get("description"));
-        if (body.get("date") != null) iv.setDate(LocalDate.parse((String)body.get("date")));
-        investments.save(iv);
-        return ResponseEntity.ok(iv);
+        Long amountCents;
+        try {
+            amountCents = body.get("amount") == null ? null : MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
+        LocalDate date = body.get("date") == null ? null : LocalDate.parse((String)body.get("date"));
+        Investment saved = financeService.updateInvestment(iv, amountCents, (String)body.get("description"), date);
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/investments/{id}")
@@ -207,7 +482,7 @@ public class FinanceController {
         Investment iv = investments.findById(id).orElse(null);
         if (iv == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
         if (!u.getId().equals(iv.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
-        investments.deleteById(id);
+        financeService.deleteInvestment(iv);
         return ResponseEntity.ok(Map.of("status","deleted"));
     }
 
@@ -216,157 +491,166 @@ public class FinanceController {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
-        Double amount = body.get("amount") == null ? 0.0 : Double.valueOf(body.get("amount").toString());
+        long amountCents;
+        try {
+            amountCents = MoneyAmountUtil.parseCentsExact(body.get("amount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         String description = (String) body.get("description");
         String dateStr = (String) body.get("date");
         LocalDate date = dateStr == null ? LocalDate.now() : LocalDate.parse(dateStr);
 
-        Investment iv = new Investment(u.getId(), amount, description, date);
-        Investment saved = investments.save(iv);
+        Investment iv = new Investment(u.getId(), null, description, date);
+        iv.setAmountCents(amountCents);
+        Investment saved = financeService.createInvestment(iv);
         return ResponseEntity.ok(saved);
     }
 
     @GetMapping("/health-score")
-    public ResponseEntity<?> getHealthScore(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> getHealthScore(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                            WebRequest request) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        if (request.checkNotModified(versions.etag(u.getId(), "health-score"))) return null;
 
+        // running totals: one primary-key read instead of four aggregates
+        UserTotals t = runningTotals.totals(u.getId());
         double profileMonthly = u.getMonthlyIncome() == null ? 0 : u.getMonthlyIncome();
-        double membersMonthly = usersRepo.sumMonthlyIncomeByOwnerId(u.getId());
-        double incomesSum = incomes.sumAmountByOwnerId(u.getId());
-        double totalIncome = profileMonthly + membersMonthly + incomesSum;
-        double totalExpense = expenses.sumAmountByOwnerId(u.getId());
-        double totalInvest = investments.sumAmountByOwnerId(u.getId());
-
-        // Calculate health score (0-100)
-        double savingsRate = 0;
-        double investmentRate = 0;
-        double expenseRatio = 100;
-        if (totalIncome > 0) {
-            double remaining = totalIncome - totalExpense - totalInvest;
-            savingsRate = (remaining / totalIncome) * 100;
-            investmentRate = (totalInvest / totalIncome) * 100;
-            expenseRatio = (totalExpense / totalIncome) * 100;
-        }
-
-        // Clamp ratios for display + scoring stability
-        savingsRate = Math.min(100, Math.max(0, savingsRate));
-        investmentRate = Math.min(100, Math.max(0, investmentRate));
-        expenseRatio = Math.max(0, expenseRatio);
-
-        // Score calculation: 40% savings rate + 30% investment rate + 30% expense control
-        double expenseControl = Math.min(100, Math.max(0, 100 - expenseRatio));
-        double score;
-        // Brand-new account behavior: if there are no expenses/investments yet, start at 100.
-        if (totalIncome > 0 && totalExpense == 0 && totalInvest == 0) {
-            score = 100;
-        } else {
-            score = (savingsRate * 0.4) + (investmentRate * 0.3) + (expenseControl * 0.3);
-        }
-        score = Math.min(100, Math.max(0, score));
-
-        String rating;
-        if (score >= 80) rating = "Excellent";
-        else if (score >= 60) rating = "Good";
-        else if (score >= 40) rating = "Fair";
-        else rating = "Needs Improvement";
-
-        Map<String, Object> healthScore = new HashMap<>();
-        healthScore.put("score", Math.round(score * 10) / 10.0);
-        healthScore.put("rating", rating);
-        healthScore.put("savingsRate", Math.round(savingsRate * 10) / 10.0);
-        healthScore.put("investmentRate", Math.round(investmentRate * 10) / 10.0);
-        healthScore.put("expenseRatio", Math.round(expenseRatio * 10) / 10.0);
-        healthScore.put("totalIncome", totalIncome);
-        healthScore.put("totalExpense", totalExpense);
-        healthScore.put("totalInvestment", totalInvest);
+        double totalIncome = profileMonthly + MoneyAmountUtil.toDouble(t.getMemberIncomeCents() + t.getIncomeCents());
+        double totalExpense = MoneyAmountUtil.toDouble(t.getExpenseCents());
+        double totalInvest = MoneyAmountUtil.toDouble(t.getInvestmentCents());
 
+        Map<String, Object> healthScore = HealthScoreUtil.compute(totalIncome, totalExpense, totalInvest);
         return ResponseEntity.ok(healthScore);
     }
 
     @GetMapping("/category-breakdown")
-    public ResponseEntity<?> getCategoryBreakdown(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> getCategoryBreakdown(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                  WebRequest request) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        if (request.checkNotModified(versions.etag(u.getId(), "category-breakdown"))) return null;
 
-        List<Expense> exp = expenses.findByOwnerId(u.getId());
-        Map<String, Double> categoryMap = new HashMap<>();
-
-        for (Expense e : exp) {
-            String cat = e.getCategory() == null || e.getCategory().isEmpty() ? "Other" : e.getCategory();
-            double amount = e.getAmount() == null ? 0 : e.getAmount();
-            categoryMap.put(cat, categoryMap.getOrDefault(cat, 0.0) + amount);
+        Map<String, Long> centsByCategory = new HashMap<>();
+        for (CategoryTotal t : rollups.sumByCategory(u.getId())) {
+            String cat = ExpenseRollupService.UNCATEGORIZED.equals(t.getCategory()) ? "Other" : t.getCategory();
+            centsByCategory.merge(cat, t.getTotalCents(), Long::sum);
         }
+        Map<String, Double> categoryMap = new HashMap<>();
+        centsByCategory.forEach((cat, cents) -> categoryMap.put(cat, MoneyAmountUtil.toDouble(cents)));
 
         return ResponseEntity.ok(categoryMap);
     }
 
     @GetMapping("/export/csv")
-    public ResponseEntity<?> exportCSV(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<StreamingResponseBody> exportCSV(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                           @RequestParam(value = "types", required = false) String types,
+                                                           @RequestParam(value = "from", required = false) String from,
+                                                           @RequestParam(value = "to", required = false) String to) {
         UserProfile u = requireUser(authHeader);
-        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
-
-        List<Income> inc = incomes.findByOwnerId(u.getId());
-        List<Expense> exp = expenses.findByOwnerId(u.getId());
-        List<Investment> inv = investments.findByOwnerId(u.getId());
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("Type,Date,Description,Amount,Category\n");
-
-        for (Income i : inc) {
-            csv.append("Income,")
-               .append(i.getDate() == null ? "" : i.getDate())
-               .append(",\"")
-               .append(i.getDescription() == null ? "" : i.getDescription().replace("\"", "\"\""))
-               .append("\",")
-               .append(i.getAmount() == null ? 0 : i.getAmount())
-               .append(",\n");
-        }
+        if (u == null) return plainText(HttpStatus.UNAUTHORIZED, "Missing or invalid token");
 
-        for (Expense e : exp) {
-            csv.append("Expense,")
-               .append(e.getDate() == null ? "" : e.getDate())
-               .append(",\"")
-               .append(e.getDescription() == null ? "" : e.getDescription().replace("\"", "\"\""))
-               .append("\",")
-               .append(e.getAmount() == null ? 0 : e.getAmount())
-               .append(",")
-               .append(e.getCategory() == null ? "Other" : e.getCategory())
-               .append("\n");
+        Set<String> selected = new HashSet<>();
+        if (types == null || types.isBlank()) {
+            selected.addAll(ExportService.ALL_TYPES);
+        } else {
+            for (String t : types.split(",")) {
+                String type = t.trim().toLowerCase();
+                if (!ExportService.ALL_TYPES.contains(type)) return plainText(HttpStatus.BAD_REQUEST, "Unknown type: " + t.trim());
+                selected.add(type);
+            }
         }
 
-        for (Investment iv : inv) {
-            csv.append("Investment,")
-               .append(iv.getDate() == null ? "" : iv.getDate())
-               .append(",\"")
-               .append(iv.getDescription() == null ? "" : iv.getDescription().replace("\"", "\"\""))
-               .append("\",")
-               .append(iv.getAmount() == null ? 0 : iv.getAmount())
-               .append(",\n");
+        LocalDate fromDate = null;
+        LocalDate toDate = null;
+        if (from != null || to != null) {
+            try {
+                fromDate = from == null ? LocalDate.of(1, 1, 1) : LocalDate.parse(from);
+                toDate = to == null ? LocalDate.of(9999, 12, 31) : LocalDate.parse(to);
+            } catch (java.time.format.DateTimeParseException ex) {
+                return plainText(HttpStatus.BAD_REQUEST, "Invalid date, expected yyyy-MM-dd");
+            }
         }
 
+        Long ownerId = u.getId();
+        LocalDate rangeFrom = fromDate;
+        LocalDate rangeTo = toDate;
+        StreamingResponseBody body = out -> exportService.writeCsv(ownerId, selected, rangeFrom, rangeTo, out);
         return ResponseEntity.ok()
                 .header("Content-Type", "text/csv")
                 .header("Content-Disposition", "attachment; filename=spendwise_export.csv")
-                .body(csv.toString());
+                .body(body);
+    }
+
+    /** Full-account backup (incomes, expenses, investments, budgets, goals, debts); see ArchiveCodec. */
+    @GetMapping("/export/archive")
+    public ResponseEntity<StreamingResponseBody> exportArchive(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        UserProfile u = requireUser(authHeader);
+        if (u == null) return plainText(HttpStatus.UNAUTHORIZED, "Missing or invalid token");
+
+        Long ownerId = u.getId();
+        StreamingResponseBody body = out -> archiveService.writeArchive(ownerId, out);
+        return ResponseEntity.ok()
+                .header("Content-Type", "application/octet-stream")
+                .header("Content-Disposition", "attachment; filename=spendwise_backup.swa")
+                .body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> plainText(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .header("Content-Type", "text/plain;charset=UTF-8")
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
     }
 
     @GetMapping("/daily-spending")
-    public ResponseEntity<?> getDailySpending(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> getDailySpending(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                              WebRequest request) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        if (request.checkNotModified(versions.etag(u.getId(), "daily-spending"))) return null;
 
-        List<Expense> exp = expenses.findByOwnerId(u.getId());
         Map<String, Double> dailyMap = new HashMap<>();
-
-        for (Expense e : exp) {
-            if (e.getDate() != null) {
-                String dateKey = e.getDate().toString();
-                double amount = e.getAmount() == null ? 0 : e.getAmount();
-                dailyMap.put(dateKey, dailyMap.getOrDefault(dateKey, 0.0) + amount);
-            }
+        for (DailyTotal t : rollups.sumByDay(u.getId())) {
+            String dateKey = LocalDate.of(t.getYear(), t.getMonth(), t.getDay()).toString();
+            dailyMap.put(dateKey, MoneyAmountUtil.toDouble(t.getTotalCents()));
         }
 
         return ResponseEntity.ok(dailyMap);
     }
+
+    /**
+     * Bulk import. Body is CSV (header row with Type,Date,Description,Amount,Category — the
+     * export layout) or NDJSON (one {"type","date","description","amount","category"} object per line).
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importTransactions(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                @RequestHeader(value = "Content-Type", required = false) String contentType,
+                                                @RequestParam(value = "format", required = false) String format,
+                                                InputStream body) throws IOException {
+        UserProfile u = requireUser(authHeader);
+        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+
+        String fmt = format == null ? null : format.toLowerCase();
+        if (fmt == null) {
+            fmt = contentType != null && contentType.toLowerCase().contains("json") ? "ndjson" : "csv";
+        }
+        if (!"csv".equals(fmt) && !"ndjson".equals(fmt)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unsupported format, expected csv or ndjson");
+        }
+        return ResponseEntity.ok(importService.importRecords(u.getId(), fmt, body));
+    }
+
+    /** Restores an archive from GET /export/archive into this account; rows are appended with new ids. */
+    @PostMapping("/import/archive")
+    public ResponseEntity<?> importArchive(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                           InputStream body) throws IOException {
+        UserProfile u = requireUser(authHeader);
+        if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        try {
+            return ResponseEntity.ok(archiveService.restore(u.getId(), body));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid archive: " + ex.getMessage());
+        }
+    }
 }
@@ -4,12 +4,13 @@ import com.spendwise.SpendWise.model.Goal;
 import com.spendwise.SpendWise.model.UserProfile;
 import com.spendwise.SpendWise.repository.GoalRepository;
 import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.DataVersionService;
 import com.spendwise.SpendWise.util.MoneyAmountUtil;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -21,10 +22,12 @@ public class GoalController {
 
     private final GoalRepository goals;
     private final AuthService auth;
+    private final DataVersionService versions;
 
-    public GoalController(GoalRepository goals, AuthService auth) {
+    public GoalController(GoalRepository goals, AuthService auth, DataVersionService versions) {
         this.goals = goals;
         this.auth = auth;
+        this.versions = versions;
     }
 
     private UserProfile requireUser(String authHeader) {
@@ -34,9 +37,10 @@ public class GoalController {
     }
 
     @GetMapping
-    public ResponseEntity<?> list(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<?> list(@RequestHeader(value = "Authorization", required = false) String authHeader, WebRequest request) {
         UserProfile u = requireUser(authHeader);
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        if (request.checkNotModified(versions.etag(u.getId(), "goals"))) return null;
         List<Goal> userGoals = goals.findByOwnerId(u.getId());
         return ResponseEntity.ok(userGoals);
     }
@@ -47,14 +51,23 @@ public class GoalController {
         if (u == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
 
         String name = (String) body.get("name");
-        BigDecimal targetAmount = MoneyAmountUtil.parse(body.get("targetAmount"));
-        BigDecimal currentAmount = MoneyAmountUtil.parse(body.get("currentAmount"));
+        long targetCents;
+        long currentCents;
+        try {
+            targetCents = MoneyAmountUtil.parseCentsExact(body.get("targetAmount"), 0);
+            currentCents = MoneyAmountUtil.parseCentsExact(body.get("currentAmount"), 0);
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         String targetDateStr = (String) body.get("targetDate");
         LocalDate targetDate = targetDateStr == null ? LocalDate.now().plusMonths(6) : LocalDate.parse(targetDateStr);
         String type = (String) body.getOrDefault("type", "savings");
 
-        Goal goal = new Goal(u.getId(), name, targetAmount, currentAmount, targetDate, type);
+        Goal goal = new Goal(u.getId(), name, null, null, targetDate, type);
+        goal.setTargetAmountCents(targetCents);
+        goal.setCurrentAmountCents(currentCents);
         Goal saved = goals.save(goal);
+        versions.bump(u.getId());
         return ResponseEntity.ok(saved);
     }
 
@@ -68,13 +81,18 @@ public class GoalController {
         if (!u.getId().equals(goal.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
 
         if (body.get("name") != null) goal.setName((String) body.get("name"));
-        if (body.get("targetAmount") != null) goal.setTargetAmount(MoneyAmountUtil.parse(body.get("targetAmount")));
-        if (body.get("currentAmount") != null) goal.setCurrentAmount(MoneyAmountUtil.parse(body.get("currentAmount")));
+        try {
+            if (body.get("targetAmount") != null) goal.setTargetAmountCents(MoneyAmountUtil.parseCentsExact(body.get("targetAmount"), 0));
+            if (body.get("currentAmount") != null) goal.setCurrentAmountCents(MoneyAmountUtil.parseCentsExact(body.get("currentAmount"), 0));
+        } catch (NumberFormatException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid amount");
+        }
         if (body.get("targetDate") != null) goal.setTargetDate(LocalDate.parse((String) body.get("targetDate")));
         if (body.get("status") != null) goal.setStatus((String) body.get("status"));
         if (body.get("type") != null) goal.setType((String) body.get("type"));
 
         goals.save(goal);
+        versions.bump(u.getId());
         return ResponseEntity.ok(goal);
     }
 
@@ -88,6 +106,7 @@ public class GoalController {
         if (!u.getId().equals(goal.getOwnerId())) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not owner");
 
         goals.deleteById(id);
+        versions.bump(u.getId());
         return ResponseEntity.ok(Map.of("status", "deleted"));
     }
 
@@ -102,14 +121,14 @@ public class GoalController {
         Map<String, Object> achievements = new HashMap<>();
         achievements.put("completedGoals", completedGoals.size());
         achievements.put("activeGoals", activeGoals.size());
-        BigDecimal totalGoalAmount = activeGoals.stream()
-                .map(g -> g.getTargetAmount() == null ? BigDecimal.ZERO : g.getTargetAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal currentProgress = activeGoals.stream()
-                .map(g -> g.getCurrentAmount() == null ? BigDecimal.ZERO : g.getCurrentAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        achievements.put("totalGoalAmount", totalGoalAmount);
-        achievements.put("currentProgress", currentProgress);
+        long totalGoalCents = 0;
+        long currentProgressCents = 0;
+        for (Goal g : activeGoals) {
+            totalGoalCents += g.getTargetAmountCents();
+            currentProgressCents += g.getCurrentAmountCents();
+        }
+        achievements.put("totalGoalAmount", MoneyAmountUtil.toDecimal(totalGoalCents));
+        achievements.put("currentProgress", MoneyAmountUtil.toDecimal(currentProgressCents));
 
         return ResponseEntity.ok(achievements);
     }
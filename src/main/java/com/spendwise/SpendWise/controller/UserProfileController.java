@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import com.spendwise.SpendWise.model.UserProfile;
 import com.spendwise.SpendWise.repository.UserProfileRepository;
 import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.UserProfileService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -25,10 +26,12 @@ public class UserProfileController {
 
     private final UserProfileRepository repo;
     private final AuthService auth;
+    private final UserProfileService profiles;
 
-    public UserProfileController(UserProfileRepository repo, AuthService auth) {
+    public UserProfileController(UserProfileRepository repo, AuthService auth, UserProfileService profiles) {
         this.repo = repo;
         this.auth = auth;
+        this.profiles = profiles;
     }
 
     @GetMapping
@@ -55,11 +58,10 @@ public class UserProfileController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only group accounts can add users");
         }
 
-        // assign ownerId to the new user so it is scoped to this group
-        user.setOwnerId(current.getId());
         // ensure created users are 'individual' accounts by default
         if (user.getAccountType() == null) user.setAccountType("individual");
-        UserProfile saved = repo.save(user);
+        // the new user is scoped to this group; member incomes count towards the group owner's totals
+        UserProfile saved = profiles.createMember(current.getId(), user);
         return ResponseEntity.ok(saved);
     }
 
@@ -76,8 +78,8 @@ public class UserProfileController {
         UserProfile user = repo.findById(id).orElse(null);
         if (user == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
 
+        Double previousIncome = user.getMonthlyIncome();
         if (body.get("name") != null) user.setName(body.get("name").toString());
-        if (body.get("monthlyIncome") != null) user.setMonthlyIncome(Double.valueOf(body.get("monthlyIncome").toString()));
         if (body.get("profileImageUrl") != null) user.setProfileImageUrl(body.get("profileImageUrl").toString());
 
         if (body.get("email") != null) {
@@ -92,7 +94,9 @@ public class UserProfileController {
             user.setEmail(requestedEmail);
         }
 
-        UserProfile saved = repo.save(user);
+        if (body.get("monthlyIncome") != null) user.setMonthlyIncome(Double.valueOf(body.get("monthlyIncome").toString()));
+
+        UserProfile saved = profiles.update(user, previousIncome);
         return ResponseEntity.ok(saved);
     }
 
@@ -105,7 +109,7 @@ public class UserProfileController {
         if (current == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
         if (!current.getId().equals(id)) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed");
 
-        repo.deleteById(id);
+        profiles.delete(id);
         return ResponseEntity.ok(Map.of("status", "deleted"));
     }
 }
@@ -1,21 +1,30 @@
 package com.spendwise.SpendWise.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
 @Table(name = "budgets")
 public class Budget {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budgets_seq")
+    @SequenceGenerator(name = "budgets_seq", sequenceName = "budgets_seq", allocationSize = 50)
     private Long id;
 
     private Long ownerId;
     private String category; // Food, Transport, Entertainment, Bills, Shopping, Healthcare, Other
-    private Double limitAmount;
+    private long limitAmountCents;
     private String period; // monthly, weekly, yearly
     private Integer month; // 1-12 for monthly budgets
     private Integer year;
@@ -25,7 +34,7 @@ public class Budget {
     public Budget(Long ownerId, String category, Double limitAmount, String period, Integer month, Integer year) {
         this.ownerId = ownerId;
         this.category = category;
-        this.limitAmount = limitAmount;
+        this.limitAmountCents = MoneyAmountUtil.toCents(limitAmount);
         this.period = period;
         this.month = month;
         this.year = year;
@@ -37,8 +46,11 @@ public class Budget {
     public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
-    public Double getLimitAmount() { return limitAmount; }
-    public void setLimitAmount(Double limitAmount) { this.limitAmount = limitAmount; }
+    public Double getLimitAmount() { return MoneyAmountUtil.toDouble(limitAmountCents); }
+    public void setLimitAmount(Double limitAmount) { this.limitAmountCents = MoneyAmountUtil.toCents(limitAmount); }
+    @JsonIgnore
+    public long getLimitAmountCents() { return limitAmountCents; }
+    public void setLimitAmountCents(long limitAmountCents) { this.limitAmountCents = limitAmountCents; }
     public String getPeriod() { return period; }
     public void setPeriod(String period) { this.period = period; }
     public Integer getMonth() { return month; }
@@ -1,9 +1,12 @@
 package com.spendwise.SpendWise.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 
@@ -11,12 +14,13 @@ import java.time.LocalDate;
 @Table(name = "debts")
 public class Debt {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "debts_seq")
+    @SequenceGenerator(name = "debts_seq", sequenceName = "debts_seq", allocationSize = 50)
     private Long id;
 
     private Long fromUserId; // who owes
     private Long toUserId; // who is owed
-    private Double amount;
+    private long amountCents;
     private String description;
     private LocalDate date;
     private String status; // pending, settled
@@ -27,7 +31,7 @@ public class Debt {
     public Debt(Long fromUserId, Long toUserId, Double amount, String description, LocalDate date) {
         this.fromUserId = fromUserId;
         this.toUserId = toUserId;
-        this.amount = amount;
+        this.amountCents = MoneyAmountUtil.toCents(amount);
         this.description = description;
         this.date = date;
         this.status = "pending";
@@ -39,8 +43,11 @@ public class Debt {
     public void setFromUserId(Long fromUserId) { this.fromUserId = fromUserId; }
     public Long getToUserId() { return toUserId; }
     public void setToUserId(Long toUserId) { this.toUserId = toUserId; }
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public Double getAmount() { return MoneyAmountUtil.toDouble(amountCents); }
+    public void setAmount(Double amount) { this.amountCents = MoneyAmountUtil.toCents(amount); }
+    @JsonIgnore
+    public long getAmountCents() { return amountCents; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     public LocalDate getDate() { return date; }
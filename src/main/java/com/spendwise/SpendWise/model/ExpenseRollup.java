@@ -0,0 +1,44 @@
+package com.spendwise.SpendWise.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Per-user expense totals bucketed by (year, month, category) with a daily sub-bucket.
+ * Maintained by {@link com.spendwise.SpendWise.services.ExpenseRollupService}; never written directly.
+ */
+@Entity
+@Table(
+        name = "expense_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_expense_rollups_bucket", columnNames = {"ownerId", "year", "month", "category", "day"})
+        }
+)
+public class ExpenseRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long ownerId;
+    private Integer year;
+    private Integer month;
+    private Integer day;
+    private String category;
+    private long totalCents;
+    private Long entryCount;
+
+    public ExpenseRollup() {}
+
+    public Long getId() { return id; }
+    public Long getOwnerId() { return ownerId; }
+    public Integer getYear() { return year; }
+    public Integer getMonth() { return month; }
+    public Integer getDay() { return day; }
+    public String getCategory() { return category; }
+    public long getTotalCents() { return totalCents; }
+    public Long getEntryCount() { return entryCount; }
+}
@@ -1,30 +1,34 @@
 package com.spendwise.SpendWise.model;
 
-import jakarta.persistence.Column;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "goals")
 @Table(name = "goals")
 public class Goal {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goals_seq")
+    @SequenceGenerator(name = "goals_seq", sequenceName = "goals_seq", allocationSize = 50)
     private Long id;
 
     private Long ownerId;
     private String name;
-
-    @Column(precision = 19, scale = 2)
-    private BigDecimal targetAmount;
-
-    @Column(precision = 19, scale = 2)
-    private BigDecimal currentAmount;
+    private long targetAmountCents;
+    private long currentAmountCents;
     private LocalDate targetDate;
     private String status; // active, completed, abandoned
     private String type; // savings, expense_reduction, investment
@@ -34,8 +38,8 @@ public class Goal {
     public Goal(Long ownerId, String name, BigDecimal targetAmount, BigDecimal currentAmount, LocalDate targetDate, String type) {
         this.ownerId = ownerId;
         this.name = name;
-        this.targetAmount = targetAmount;
-        this.currentAmount = currentAmount;
+        this.targetAmountCents = MoneyAmountUtil.toCents(targetAmount);
+        this.currentAmountCents = MoneyAmountUtil.toCents(currentAmount);
         this.targetDate = targetDate;
         this.status = "active";
         this.type = type;
@@ -47,10 +51,16 @@ public class Goal {
     public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
-    public BigDecimal getTargetAmount() { return targetAmount; }
-    public void setTargetAmount(BigDecimal targetAmount) { this.targetAmount = targetAmount; }
-    public BigDecimal getCurrentAmount() { return currentAmount; }
-    public void setCurrentAmount(BigDecimal currentAmount) { this.currentAmount = currentAmount; }
+    public BigDecimal getTargetAmount() { return MoneyAmountUtil.toDecimal(targetAmountCents); }
+    public void setTargetAmount(BigDecimal targetAmount) { this.targetAmountCents = MoneyAmountUtil.toCents(targetAmount); }
+    @JsonIgnore
+    public long getTargetAmountCents() { return targetAmountCents; }
+    public void setTargetAmountCents(long targetAmountCents) { this.targetAmountCents = targetAmountCents; }
+    public BigDecimal getCurrentAmount() { return MoneyAmountUtil.toDecimal(currentAmountCents); }
+    public void setCurrentAmount(BigDecimal currentAmount) { this.currentAmountCents = MoneyAmountUtil.toCents(currentAmount); }
+    @JsonIgnore
+    public long getCurrentAmountCents() { return currentAmountCents; }
+    public void setCurrentAmountCents(long currentAmountCents) { this.currentAmountCents = currentAmountCents; }
     public LocalDate getTargetDate() { return targetDate; }
     public void setTargetDate(LocalDate targetDate) { this.targetDate = targetDate; }
     public String getStatus() { return status; }
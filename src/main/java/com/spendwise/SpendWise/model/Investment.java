@@ -1,9 +1,12 @@
 package com.spendwise.SpendWise.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 
@@ -11,11 +14,12 @@ import java.time.LocalDate;
 @Table(name = "investments")
 public class Investment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "investments_seq")
+    @SequenceGenerator(name = "investments_seq", sequenceName = "investments_seq", allocationSize = 50)
     private Long id;
 
     private Long ownerId;
-    private Double amount;
+    private long amountCents;
     private String description;
     private LocalDate date;
 
@@ -23,7 +27,7 @@ public class Investment {
 
     public Investment(Long ownerId, Double amount, String description, LocalDate date) {
         this.ownerId = ownerId;
-        this.amount = amount;
+        this.amountCents = MoneyAmountUtil.toCents(amount);
         this.description = description;
         this.date = date;
     }
@@ -32,8 +36,11 @@ public class Investment {
     public void setId(Long id) { this.id = id; }
     public Long getOwnerId() { return ownerId; }
     public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public Double getAmount() { return MoneyAmountUtil.toDouble(amountCents); }
+    public void setAmount(Double amount) { this.amountCents = MoneyAmountUtil.toCents(amount); }
+    @JsonIgnore
+    public long getAmountCents() { return amountCents; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     public LocalDate getDate() { return date; }
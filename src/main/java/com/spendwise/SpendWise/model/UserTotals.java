@@ -0,0 +1,30 @@
+package com.spendwise.SpendWise.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Running per-user totals behind the health score. Maintained by
+ * {@link com.spendwise.SpendWise.services.RunningTotalsService}; never written directly.
+ * {@code memberIncomeCents} is the sum of the group members' monthly incomes. All values are cents.
+ */
+@Entity
+@Table(name = "user_totals")
+public class UserTotals {
+    @Id
+    private Long ownerId;
+
+    private long incomeCents;
+    private long memberIncomeCents;
+    private long expenseCents;
+    private long investmentCents;
+
+    public UserTotals() {}
+
+    public Long getOwnerId() { return ownerId; }
+    public long getIncomeCents() { return incomeCents; }
+    public long getMemberIncomeCents() { return memberIncomeCents; }
+    public long getExpenseCents() { return expenseCents; }
+    public long getInvestmentCents() { return investmentCents; }
+}
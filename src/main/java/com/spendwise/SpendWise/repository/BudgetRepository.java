@@ -1,13 +1,19 @@
 package com.spendwise.SpendWise.repository;
 
 import com.spendwise.SpendWise.model.Budget;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Budget> findByOwnerId(Long ownerId);
     List<Budget> findByOwnerIdAndCategoryAndMonthAndYear(Long ownerId, String category, Integer month, Integer year);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Budget> findByOwnerIdAndPeriodAndMonthAndYear(Long ownerId, String period, Integer month, Integer year);
 }
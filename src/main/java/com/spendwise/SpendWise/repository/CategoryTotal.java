@@ -0,0 +1,9 @@
+package com.spendwise.SpendWise.repository;
+
+/**
+ * Projection for grouped (category, sum) expense queries.
+ */
+public interface CategoryTotal {
+    String getCategory();
+    long getTotalCents();
+}
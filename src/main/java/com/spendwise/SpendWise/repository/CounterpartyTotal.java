@@ -0,0 +1,9 @@
+package com.spendwise.SpendWise.repository;
+
+/**
+ * Projection for pending debt sums grouped by the other party.
+ */
+public interface CounterpartyTotal {
+    Long getCounterpartyId();
+    long getTotalCents();
+}
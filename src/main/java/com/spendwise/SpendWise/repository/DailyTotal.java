@@ -0,0 +1,11 @@
+package com.spendwise.SpendWise.repository;
+
+/**
+ * Projection for per-day expense totals read from the rollup table.
+ */
+public interface DailyTotal {
+    Integer getYear();
+    Integer getMonth();
+    Integer getDay();
+    long getTotalCents();
+}
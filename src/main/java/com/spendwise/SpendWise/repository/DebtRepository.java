@@ -1,10 +1,15 @@
 package com.spendwise.SpendWise.repository;
 
 import com.spendwise.SpendWise.model.Debt;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,27 @@ public interface DebtRepository extends JpaRepository<Debt, Long> {
     
     @Query("SELECT d FROM Debt d WHERE (d.fromUserId = ?1 OR d.toUserId = ?1) AND d.status = 'pending'")
     List<Debt> findPendingDebtsByUserId(Long userId);
+
+    @Query("SELECT d.toUserId AS counterpartyId, SUM(d.amountCents) AS totalCents FROM Debt d " +
+            "WHERE d.fromUserId = :userId AND d.status = 'pending' GROUP BY d.toUserId")
+    List<CounterpartyTotal> sumPendingOwedByCounterparty(@Param("userId") Long userId);
+
+    @Query("SELECT d.fromUserId AS counterpartyId, SUM(d.amountCents) AS totalCents FROM Debt d " +
+            "WHERE d.toUserId = :userId AND d.status = 'pending' GROUP BY d.fromUserId")
+    List<CounterpartyTotal> sumPendingOwedToByCounterparty(@Param("userId") Long userId);
+
+    @Query("SELECT d FROM Debt d WHERE d.status = 'pending' AND d.fromUserId IN :userIds AND d.toUserId IN :userIds")
+    List<Debt> findPendingWithinGroup(@Param("userIds") Collection<Long> userIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Debt d WHERE d.status = 'pending' AND d.fromUserId IN :userIds AND d.toUserId IN :userIds ORDER BY d.id")
+    List<Debt> lockPendingWithinGroup(@Param("userIds") Collection<Long> userIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Debt d WHERE (d.fromUserId = :userId OR d.toUserId = :userId) AND d.status = 'pending' ORDER BY d.id")
+    List<Debt> lockPendingDebtsByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Debt d SET d.status = 'settled' WHERE d.id IN :ids AND d.status = 'pending'")
+    int settleAll(@Param("ids") Collection<Long> ids);
 }
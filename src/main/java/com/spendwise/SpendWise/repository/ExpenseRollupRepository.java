@@ -0,0 +1,30 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.model.ExpenseRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ExpenseRollupRepository extends JpaRepository<ExpenseRollup, Long> {
+
+    @Query("select r.category as category, sum(r.totalCents) as totalCents from ExpenseRollup r where r.ownerId = :ownerId group by r.category")
+    List<CategoryTotal> sumByCategory(@Param("ownerId") Long ownerId);
+
+    @Query("select r.category as category, sum(r.totalCents) as totalCents from ExpenseRollup r " +
+            "where r.ownerId = :ownerId and r.year = :year and r.month = :month group by r.category")
+    List<CategoryTotal> sumByCategoryForMonth(@Param("ownerId") Long ownerId, @Param("year") int year, @Param("month") int month);
+
+    @Query("select coalesce(sum(r.totalCents), 0) from ExpenseRollup r " +
+            "where r.ownerId = :ownerId and r.year = :year and r.month = :month and r.category = :category")
+    long sumTotalCentsForMonthAndCategory(@Param("ownerId") Long ownerId, @Param("year") int year, @Param("month") int month,
+                                          @Param("category") String category);
+
+    @Query("select r.year as year, r.month as month, r.day as day, sum(r.totalCents) as totalCents from ExpenseRollup r " +
+            "where r.ownerId = :ownerId group by r.year, r.month, r.day")
+    List<DailyTotal> sumByDay(@Param("ownerId") Long ownerId);
+
+    @Query("select coalesce(sum(r.totalCents), 0) from ExpenseRollup r where r.ownerId = :ownerId")
+    long sumTotalCentsByOwnerId(@Param("ownerId") Long ownerId);
+}
@@ -0,0 +1,30 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.model.Expense;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Expense reads merged over {@code expenses} and {@code expenses_cold}; see TieredQuerySupport. */
+public interface ExpenseTieredReads {
+    List<Expense> findByOwnerId(Long ownerId);
+
+    List<Expense> findByOwnerIdOrderByDateDescIdDesc(Long ownerId, Limit limit);
+    List<Expense> findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(Long ownerId, LocalDate from, LocalDate to, Limit limit);
+    long countByOwnerId(Long ownerId);
+
+    long sumAmountCentsByOwnerId(Long ownerId);
+
+    // Keyset page ordered by (date desc, id desc): rows strictly after the cursor position
+    List<Expense> findPage(Long ownerId, LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Limit limit);
+
+    List<Expense> findPageByCategory(Long ownerId, String category, LocalDate from, LocalDate to,
+                                    LocalDate afterDate, Long afterId, Limit limit);
+
+    // Cursor-backed streams ordered by (date, id) for exports; must be consumed inside a transaction
+    Stream<Expense> streamByOwnerId(Long ownerId);
+
+    Stream<Expense> streamByOwnerIdAndDateBetween(Long ownerId, LocalDate from, LocalDate to);
+}
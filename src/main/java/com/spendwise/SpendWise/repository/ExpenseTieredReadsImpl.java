@@ -0,0 +1,74 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.services.ColdTierService;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ExpenseTieredReadsImpl extends TieredQuerySupport<Expense> implements ExpenseTieredReads {
+
+    private static final String NEWEST_FIRST = "date desc, id desc";
+    private static final String OLDEST_FIRST = "date, id";
+    private static final String PAGE = "owner_id = :ownerId and date between :from and :to " +
+            "and (date < :afterDate or (date = :afterDate and id < :afterId))";
+
+    ExpenseTieredReadsImpl(EntityManager em, ColdTierService tiers) {
+        super(em, tiers, Expense.class, "expenses", "expenses_cold", "expense",
+                "id, owner_id, amount_cents, description, date, category");
+    }
+
+    @Override
+    public List<Expense> findByOwnerId(Long ownerId) {
+        return list("owner_id = :ownerId", null, Limit.unlimited(), null, Map.of("ownerId", ownerId));
+    }
+
+    @Override
+    public List<Expense> findByOwnerIdOrderByDateDescIdDesc(Long ownerId, Limit limit) {
+        return list("owner_id = :ownerId", NEWEST_FIRST, limit, null, Map.of("ownerId", ownerId));
+    }
+
+    @Override
+    public List<Expense> findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(Long ownerId, LocalDate from, LocalDate to, Limit limit) {
+        return list("owner_id = :ownerId and date between :from and :to", NEWEST_FIRST, limit, from,
+                Map.of("ownerId", ownerId, "from", from, "to", to));
+    }
+
+    @Override
+    public long countByOwnerId(Long ownerId) {
+        return count(ownerId);
+    }
+
+    @Override
+    public long sumAmountCentsByOwnerId(Long ownerId) {
+        return sumCents(ownerId);
+    }
+
+    @Override
+    public List<Expense> findPage(Long ownerId, LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Limit limit) {
+        return list(PAGE, NEWEST_FIRST, limit, from,
+                Map.of("ownerId", ownerId, "from", from, "to", to, "afterDate", afterDate, "afterId", afterId));
+    }
+
+    @Override
+    public List<Expense> findPageByCategory(Long ownerId, String category, LocalDate from, LocalDate to,
+                                           LocalDate afterDate, Long afterId, Limit limit) {
+        return list(PAGE + " and category = :category", NEWEST_FIRST, limit, from,
+                Map.of("ownerId", ownerId, "category", category, "from", from, "to", to, "afterDate", afterDate, "afterId", afterId));
+    }
+
+    @Override
+    public Stream<Expense> streamByOwnerId(Long ownerId) {
+        return stream("owner_id = :ownerId", OLDEST_FIRST, null, Map.of("ownerId", ownerId));
+    }
+
+    @Override
+    public Stream<Expense> streamByOwnerIdAndDateBetween(Long ownerId, LocalDate from, LocalDate to) {
+        return stream("owner_id = :ownerId and date between :from and :to", OLDEST_FIRST, from,
+                Map.of("ownerId", ownerId, "from", from, "to", to));
+    }
+}
@@ -0,0 +1,28 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.model.Income;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Income reads merged over {@code incomes} and {@code incomes_cold}; see TieredQuerySupport. */
+public interface IncomeTieredReads {
+    List<Income> findByOwnerId(Long ownerId);
+    List<Income> findByOwnerIdOrId(Long ownerId, Long id);
+
+    List<Income> findByOwnerIdOrderByDateDescIdDesc(Long ownerId, Limit limit);
+    List<Income> findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(Long ownerId, LocalDate from, LocalDate to, Limit limit);
+    long countByOwnerId(Long ownerId);
+
+    long sumAmountCentsByOwnerId(Long ownerId);
+
+    // Keyset page ordered by (date desc, id desc): rows strictly after the cursor position
+    List<Income> findPage(Long ownerId, LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Limit limit);
+
+    // Cursor-backed streams ordered by (date, id) for exports; must be consumed inside a transaction
+    Stream<Income> streamByOwnerId(Long ownerId);
+
+    Stream<Income> streamByOwnerIdAndDateBetween(Long ownerId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,72 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.model.Income;
+import com.spendwise.SpendWise.services.ColdTierService;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class IncomeTieredReadsImpl extends TieredQuerySupport<Income> implements IncomeTieredReads {
+
+    private static final String NEWEST_FIRST = "date desc, id desc";
+    private static final String OLDEST_FIRST = "date, id";
+    private static final String PAGE = "owner_id = :ownerId and date between :from and :to " +
+            "and (date < :afterDate or (date = :afterDate and id < :afterId))";
+
+    IncomeTieredReadsImpl(EntityManager em, ColdTierService tiers) {
+        super(em, tiers, Income.class, "incomes", "incomes_cold", "income",
+                "id, owner_id, amount_cents, description, date");
+    }
+
+    @Override
+    public List<Income> findByOwnerId(Long ownerId) {
+        return list("owner_id = :ownerId", null, Limit.unlimited(), null, Map.of("ownerId", ownerId));
+    }
+
+    @Override
+    public List<Income> findByOwnerIdOrId(Long ownerId, Long id) {
+        return list("owner_id = :ownerId or id = :id", null, Limit.unlimited(), null, Map.of("ownerId", ownerId, "id", id));
+    }
+
+    @Override
+    public List<Income> findByOwnerIdOrderByDateDescIdDesc(Long ownerId, Limit limit) {
+        return list("owner_id = :ownerId", NEWEST_FIRST, limit, null, Map.of("ownerId", ownerId));
+    }
+
+    @Override
+    public List<Income> findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(Long ownerId, LocalDate from, LocalDate to, Limit limit) {
+        return list("owner_id = :ownerId and date between :from and :to", NEWEST_FIRST, limit, from,
+                Map.of("ownerId", ownerId, "from", from, "to", to));
+    }
+
+    @Override
+    public long countByOwnerId(Long ownerId) {
+        return count(ownerId);
+    }
+
+    @Override
+    public long sumAmountCentsByOwnerId(Long ownerId) {
+        return sumCents(ownerId);
+    }
+
+    @Override
+    public List<Income> findPage(Long ownerId, LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, Limit limit) {
+        return list(PAGE, NEWEST_FIRST, limit, from,
+                Map.of("ownerId", ownerId, "from", from, "to", to, "afterDate", afterDate, "afterId", afterId));
+    }
+
+    @Override
+    public Stream<Income> streamByOwnerId(Long ownerId) {
+        return stream("owner_id = :ownerId", OLDEST_FIRST, null, Map.of("ownerId", ownerId));
+    }
+
+    @Override
+    public Stream<Income> streamByOwnerIdAndDateBetween(Long ownerId, LocalDate from, LocalDate to) {
+        return stream("owner_id = :ownerId and date between :from and :to", OLDEST_FIRST, from,
+                Map.of("ownerId", ownerId, "from", from, "to", to));
+    }
+}
@@ -1,15 +1,46 @@
 package com.spendwise.SpendWise.repository;
 
 import com.spendwise.SpendWise.model.Investment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     List<Investment> findByOwnerId(Long ownerId);
 
-    @Query("select coalesce(sum(i.amount), 0) from Investment i where i.ownerId = :ownerId")
-    double sumAmountByOwnerId(@Param("ownerId") Long ownerId);
+    List<Investment> findByOwnerIdOrderByDateDescIdDesc(Long ownerId, Limit limit);
+    List<Investment> findByOwnerIdAndDateBetweenOrderByDateDescIdDesc(Long ownerId, LocalDate from, LocalDate to, Limit limit);
+    long countByOwnerId(Long ownerId);
+
+    @Query("select coalesce(sum(i.amountCents), 0) from Investment i where i.ownerId = :ownerId")
+    long sumAmountCentsByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Keyset page ordered by (date desc, id desc): rows strictly after the cursor position
+    @Query("select i from Investment i where i.ownerId = :ownerId and i.date between :from and :to " +
+            "and (i.date < :afterDate or (i.date = :afterDate and i.id < :afterId)) order by i.date desc, i.id desc")
+    List<Investment> findPage(@Param("ownerId") Long ownerId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+                          @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Limit limit);
+
+    // Cursor-backed streams for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Investment i where i.ownerId = :ownerId order by i.date, i.id")
+    Stream<Investment> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Investment i where i.ownerId = :ownerId and i.date between :from and :to order by i.date, i.id")
+    Stream<Investment> streamByOwnerIdAndDateBetween(@Param("ownerId") Long ownerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,86 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.services.ColdTierService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Native reads over a hot table and its cold counterpart (see ColdTierService). The cold branch is
+ * added as a UNION ALL only when the queried range starts before the cold boundary; ordered,
+ * limited reads repeat the order and limit in each branch so both are index range scans.
+ * Results are mapped to the hot entity and loaded read-only.
+ */
+abstract class TieredQuerySupport<T> {
+
+    private final EntityManager em;
+    private final ColdTierService tiers;
+    private final Class<T> type;
+    private final String hotTable;
+    private final String coldTable;
+    private final String kind;
+    private final String columns;
+
+    TieredQuerySupport(EntityManager em, ColdTierService tiers, Class<T> type,
+                       String hotTable, String coldTable, String kind, String columns) {
+        this.em = em;
+        this.tiers = tiers;
+        this.type = type;
+        this.hotTable = hotTable;
+        this.coldTable = coldTable;
+        this.kind = kind;
+        this.columns = columns;
+    }
+
+    /** {@code from} is the earliest date the query can match, or null when unbounded. */
+    @SuppressWarnings("unchecked")
+    List<T> list(String where, String order, Limit limit, LocalDate from, Map<String, Object> params) {
+        return query(where, order, limit, from, params).getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    Stream<T> stream(String where, String order, LocalDate from, Map<String, Object> params) {
+        Query q = query(where, order, Limit.unlimited(), from, params);
+        q.setHint(HibernateHints.HINT_FETCH_SIZE, 500);
+        return q.getResultStream();
+    }
+
+    long sumCents(Long ownerId) {
+        return scalar("select (select coalesce(sum(amount_cents), 0) from " + hotTable + " where owner_id = :ownerId) + " +
+                "(select coalesce(sum(total_cents), 0) from cold_monthly_totals where owner_id = :ownerId and kind = '" + kind + "')", ownerId);
+    }
+
+    long count(Long ownerId) {
+        return scalar("select (select count(*) from " + hotTable + " where owner_id = :ownerId) + " +
+                "(select coalesce(sum(entry_count), 0) from cold_monthly_totals where owner_id = :ownerId and kind = '" + kind + "')", ownerId);
+    }
+
+    private Query query(String where, String order, Limit limit, LocalDate from, Map<String, Object> params) {
+        String tail = (order == null ? "" : " order by " + order) + (limit.isLimited() ? " limit " + limit.max() : "");
+        String hot = "select " + columns + " from " + hotTable + " where " + where;
+        String sql;
+        if (from == null || from.isBefore(tiers.coldBefore())) {
+            String cold = "select " + columns + " from " + coldTable + " where " + where;
+            sql = tail.isEmpty()
+                    ? hot + " union all " + cold
+                    : "(" + hot + tail + ") union all (" + cold + tail + ")" + tail;
+        } else {
+            sql = hot + tail;
+        }
+        Query q = em.createNativeQuery(sql, type);
+        q.setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.forEach(q::setParameter);
+        return q;
+    }
+
+    private long scalar(String sql, Long ownerId) {
+        Object v = em.createNativeQuery(sql).setParameter("ownerId", ownerId).getSingleResult();
+        return ((Number) v).longValue();
+    }
+}
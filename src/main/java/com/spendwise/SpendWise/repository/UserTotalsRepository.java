@@ -0,0 +1,7 @@
+package com.spendwise.SpendWise.repository;
+
+import com.spendwise.SpendWise.model.UserTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserTotalsRepository extends JpaRepository<UserTotals, Long> {
+}
@@ -0,0 +1,21 @@
+package com.spendwise.SpendWise.scheduler;
+
+import com.spendwise.SpendWise.services.BudgetAlertService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Pings open budget alert streams; see BudgetAlertService#heartbeat. */
+@Component
+public class BudgetAlertHeartbeat {
+
+    private final BudgetAlertService alerts;
+
+    public BudgetAlertHeartbeat(BudgetAlertService alerts) {
+        this.alerts = alerts;
+    }
+
+    @Scheduled(fixedDelayString = "${budget-alerts.heartbeat-ms:25000}", initialDelayString = "${budget-alerts.heartbeat-ms:25000}")
+    public void ping() {
+        alerts.heartbeat();
+    }
+}
@@ -0,0 +1,34 @@
+package com.spendwise.SpendWise.scheduler;
+
+import com.spendwise.SpendWise.services.ColdTierService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves incomes and expenses older than {@code tiering.hot-months} into the cold tier. Each batch
+ * commits on its own, so an interrupted run simply continues on the next schedule.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tiering", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ColdTierScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdTierScheduler.class);
+
+    private final ColdTierService tiers;
+
+    public ColdTierScheduler(ColdTierService tiers) {
+        this.tiers = tiers;
+    }
+
+    @Scheduled(cron = "${tiering.cron:0 0 4 * * *}")
+    public void archive() {
+        try {
+            tiers.archive();
+        } catch (Exception ex) {
+            log.warn("Cold tier archive failed | error={}", ex.getMessage());
+        }
+    }
+}
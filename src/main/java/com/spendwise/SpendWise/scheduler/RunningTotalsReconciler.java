@@ -0,0 +1,42 @@
+package com.spendwise.SpendWise.scheduler;
+
+import com.spendwise.SpendWise.services.RunningTotalsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Compares {@code user_totals} with the raw tables and rebuilds any row that drifted
+ * (missed delta, manual SQL, floating-point accumulation). Each repair runs in its own transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "totals.reconcile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RunningTotalsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(RunningTotalsReconciler.class);
+
+    private final RunningTotalsService totals;
+
+    public RunningTotalsReconciler(RunningTotalsService totals) {
+        this.totals = totals;
+    }
+
+    @Scheduled(cron = "${totals.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            List<Long> drifted = totals.findDrifted();
+            for (Long ownerId : drifted) totals.rebuild(ownerId);
+            if (drifted.isEmpty()) {
+                log.info("Running totals reconciled | drifted=0");
+            } else {
+                log.warn("Running totals reconciled | drifted={} | owners={}", drifted.size(), drifted);
+            }
+        } catch (Exception ex) {
+            log.warn("Running totals reconciliation failed | error={}", ex.getMessage());
+        }
+    }
+}
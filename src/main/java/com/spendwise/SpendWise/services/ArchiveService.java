@@ -0,0 +1,253 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Budget;
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.model.Goal;
+import com.spendwise.SpendWise.model.Income;
+import com.spendwise.SpendWise.model.Investment;
+import com.spendwise.SpendWise.repository.BudgetRepository;
+import com.spendwise.SpendWise.repository.DebtRepository;
+import com.spendwise.SpendWise.repository.ExpenseRepository;
+import com.spendwise.SpendWise.repository.GoalRepository;
+import com.spendwise.SpendWise.repository.IncomeRepository;
+import com.spendwise.SpendWise.repository.InvestmentRepository;
+import com.spendwise.SpendWise.util.ArchiveCodec;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Full-account backup and restore in the {@link ArchiveCodec} format. Exports stream each table
+ * from a DB cursor into blocks; restores spool the upload to a temp file, map it, verify every
+ * block, then insert block by block through the same batched paths as the bulk import.
+ */
+@Service
+public class ArchiveService {
+
+    private final IncomeRepository incomes;
+    private final ExpenseRepository expenses;
+    private final InvestmentRepository investments;
+    private final BudgetRepository budgets;
+    private final GoalRepository goals;
+    private final DebtRepository debts;
+    private final FinanceService financeService;
+    private final DataVersionService versions;
+    private final EntityManager em;
+
+    public ArchiveService(IncomeRepository incomes, ExpenseRepository expenses, InvestmentRepository investments,
+                          BudgetRepository budgets, GoalRepository goals, DebtRepository debts,
+                          FinanceService financeService, DataVersionService versions, EntityManager em) {
+        this.incomes = incomes;
+        this.expenses = expenses;
+        this.investments = investments;
+        this.budgets = budgets;
+        this.goals = goals;
+        this.debts = debts;
+        this.financeService = financeService;
+        this.versions = versions;
+        this.em = em;
+    }
+
+    /** Debts are included from both sides (owed by and owed to the user). */
+    @Transactional(readOnly = true)
+    public void writeArchive(Long ownerId, OutputStream out) throws IOException {
+        ArchiveCodec.Writer w = new ArchiveCodec.Writer(new BufferedOutputStream(out, 64 * 1024), ownerId);
+        try (Stream<Income> s = incomes.streamByOwnerId(ownerId)) {
+            drain(s.iterator(), w::incomes);
+        }
+        try (Stream<Expense> s = expenses.streamByOwnerId(ownerId)) {
+            drain(s.iterator(), w::expenses);
+        }
+        try (Stream<Investment> s = investments.streamByOwnerId(ownerId)) {
+            drain(s.iterator(), w::investments);
+        }
+        drain(budgets.findByOwnerId(ownerId).iterator(), w::budgets);
+        drain(goals.findByOwnerId(ownerId).iterator(), w::goals);
+
+        Map<Long, Debt> userDebts = new LinkedHashMap<>();
+        debts.findByFromUserId(ownerId).forEach(d -> userDebts.put(d.getId(), d));
+        debts.findByToUserId(ownerId).forEach(d -> userDebts.put(d.getId(), d));
+        drain(userDebts.values().iterator(), w::debts);
+        w.finish();
+    }
+
+    private <T> void drain(Iterator<T> rows, BlockWriter<T> writer) throws IOException {
+        List<T> block = new ArrayList<>(ArchiveCodec.BLOCK_ROWS);
+        while (rows.hasNext()) {
+            block.add(rows.next());
+            if (block.size() == ArchiveCodec.BLOCK_ROWS) {
+                writer.write(block);
+                block.forEach(em::detach);
+                block.clear();
+            }
+        }
+        writer.write(block);
+        block.forEach(em::detach);
+    }
+
+    @FunctionalInterface
+    private interface BlockWriter<T> {
+        void write(List<T> rows) throws IOException;
+    }
+
+    /**
+     * Appends the archive's contents to {@code ownerId}'s account (new ids; existing rows are
+     * kept). The whole archive is decoded once before anything is written, so a corrupt upload
+     * fails with IllegalArgumentException and inserts nothing. Only debts the archive's owner owes
+     * are restored, re-pointed at {@code ownerId} as the debtor, just as if they had been created
+     * through the API; ones owed to the owner, ones between two other users and ones already in the
+     * account are counted under {@code debtsSkipped}.
+     */
+    public Map<String, Object> restore(Long ownerId, InputStream body) throws IOException {
+        Path file = Files.createTempFile("spendwise-restore-", ".swa");
+        try {
+            long bytes = Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            if (bytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Archive too large");
+            MappedByteBuffer mapped;
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            }
+
+            // verification pass; also collects the expense ids that debts point at
+            Set<Long> linkedExpenses = new HashSet<>();
+            new ArchiveCodec.Reader(mapped.duplicate()).readAll(new ArchiveCodec.Sink() {
+                @Override
+                public void debts(List<Debt> rows) {
+                    rows.forEach(d -> { if (d.getRelatedExpenseId() != null) linkedExpenses.add(d.getRelatedExpenseId()); });
+                }
+            });
+
+            ArchiveCodec.Reader reader = new ArchiveCodec.Reader(mapped.duplicate());
+            Restorer restorer = new Restorer(ownerId, reader.sourceOwnerId(), linkedExpenses);
+            reader.readAll(restorer);
+            versions.bump(ownerId);
+            restorer.counterparties.forEach(versions::bump);
+
+            Map<String, Object> report = new LinkedHashMap<>(restorer.counts);
+            report.put("bytes", bytes);
+            return report;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<Object> debtKey(Debt d) {
+        return Arrays.asList(d.getToUserId(), d.getAmountCents(), d.getDescription(), d.getDate(), d.getStatus());
+    }
+
+    private final class Restorer implements ArchiveCodec.Sink {
+        final Long ownerId;
+        final long sourceOwnerId;
+        final Set<Long> linkedExpenses;
+        final Map<Long, Long> expenseIds = new HashMap<>();
+        final Set<Long> counterparties = new HashSet<>();
+        final Map<String, Object> counts = new LinkedHashMap<>();
+        // the caller's own debts (as debtor) by content, so restoring the same archive twice adds nothing
+        Map<List<Object>, Integer> existingDebts;
+
+        Restorer(Long ownerId, long sourceOwnerId, Set<Long> linkedExpenses) {
+            this.ownerId = ownerId;
+            this.sourceOwnerId = sourceOwnerId;
+            this.linkedExpenses = linkedExpenses;
+            for (String k : List.of("incomes", "expenses", "investments", "budgets", "goals", "debts", "debtsSkipped")) counts.put(k, 0L);
+        }
+
+        @Override
+        public void incomes(List<Income> rows) {
+            rows.forEach(r -> { r.setId(null); r.setOwnerId(ownerId); });
+            financeService.saveChunk(rows, List.of(), List.of());
+            count("incomes", rows.size());
+        }
+
+        @Override
+        public void expenses(List<Expense> rows) {
+            Long[] archived = new Long[rows.size()];
+            for (int i = 0; i < archived.length; i++) {
+                archived[i] = rows.get(i).getId();
+                rows.get(i).setId(null);
+                rows.get(i).setOwnerId(ownerId);
+            }
+            financeService.saveChunk(List.of(), rows, List.of());
+            for (int i = 0; i < archived.length; i++) {
+                if (linkedExpenses.contains(archived[i])) expenseIds.put(archived[i], rows.get(i).getId());
+            }
+            count("expenses", rows.size());
+        }
+
+        @Override
+        public void investments(List<Investment> rows) {
+            rows.forEach(r -> { r.setId(null); r.setOwnerId(ownerId); });
+            financeService.saveChunk(List.of(), List.of(), rows);
+            count("investments", rows.size());
+        }
+
+        @Override
+        public void budgets(List<Budget> rows) {
+            rows.forEach(r -> { r.setId(null); r.setOwnerId(ownerId); });
+            budgets.saveAll(rows);
+            count("budgets", rows.size());
+        }
+
+        @Override
+        public void goals(List<Goal> rows) {
+            rows.forEach(r -> { r.setId(null); r.setOwnerId(ownerId); });
+            goals.saveAll(rows);
+            count("goals", rows.size());
+        }
+
+        @Override
+        public void debts(List<Debt> rows) {
+            if (existingDebts == null) {
+                existingDebts = new HashMap<>();
+                for (Debt d : debts.findByFromUserId(ownerId)) existingDebts.merge(debtKey(d), 1, Integer::sum);
+            }
+            List<Debt> kept = new ArrayList<>(rows.size());
+            for (Debt d : rows) {
+                // the caller may only ever be the debtor, same as DebtController.create
+                if (d.getFromUserId() == null || d.getFromUserId() != sourceOwnerId) continue;
+                d.setId(null);
+                d.setFromUserId(ownerId);
+                if (d.getToUserId() != null && d.getToUserId() == sourceOwnerId) d.setToUserId(ownerId);
+                d.setRelatedExpenseId(d.getRelatedExpenseId() == null ? null : expenseIds.get(d.getRelatedExpenseId()));
+                List<Object> key = debtKey(d);
+                Integer existing = existingDebts.get(key);
+                if (existing != null) {
+                    if (existing == 1) existingDebts.remove(key);
+                    else existingDebts.put(key, existing - 1);
+                    continue;
+                }
+                kept.add(d);
+                if (d.getToUserId() != null && !d.getToUserId().equals(ownerId)) counterparties.add(d.getToUserId());
+            }
+            debts.saveAll(kept);
+            count("debts", kept.size());
+            count("debtsSkipped", rows.size() - kept.size());
+        }
+
+        private void count(String kind, int n) {
+            counts.merge(kind, (long) n, (a, b) -> (Long) a + (Long) b);
+        }
+    }
+}
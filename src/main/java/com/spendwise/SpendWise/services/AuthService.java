@@ -4,10 +4,14 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.spendwise.SpendWise.model.UserProfile;
 import com.spendwise.SpendWise.repository.UserProfileRepository;
+import com.spendwise.SpendWise.util.BoundedTtlCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 @Service
@@ -17,10 +21,25 @@ public class AuthService {
     // token -> userId
     private final Map<String, Long> tokens = new ConcurrentHashMap<>();
 
+    // userId -> immutable snapshot of the profile; saves the findById round trip on every authenticated request
+    private final BoundedTtlCache<Long, Principal> principals;
+    // bumped by every eviction; a miss only caches what it loaded if no eviction happened meanwhile
+    private final Object evictLock = new Object();
+    private long evictions;
+
+    // ticket -> userId; short-lived, single-use stand-ins for the token where no header can be sent (EventSource)
+    private final BoundedTtlCache<String, Long> streamTickets;
+
     private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
 
-    public AuthService(UserProfileRepository repo) {
+    public AuthService(UserProfileRepository repo,
+                       @Value("${auth.principal-cache.max-size:10000}") int principalCacheMaxSize,
+                       @Value("${auth.principal-cache.ttl-seconds:300}") long principalCacheTtlSeconds,
+                       @Value("${auth.stream-ticket.max-size:10000}") int streamTicketMaxSize,
+                       @Value("${auth.stream-ticket.ttl-seconds:60}") long streamTicketTtlSeconds) {
         this.repo = repo;
+        this.principals = new BoundedTtlCache<>(principalCacheMaxSize, principalCacheTtlSeconds * 1000L);
+        this.streamTickets = new BoundedTtlCache<>(streamTicketMaxSize, streamTicketTtlSeconds * 1000L);
     }
 
     public String signup(UserProfile user, String rawPassword) {
@@ -60,9 +79,85 @@ public class AuthService {
         return token;
     }
 
+    public String issueStreamTicket(Long userId) {
+        String ticket = UUID.randomUUID().toString();
+        streamTickets.put(ticket, userId);
+        return ticket;
+    }
+
+    /** Resolves a ticket from {@link #issueStreamTicket} once; null if unknown, expired or already used. */
+    public UserProfile redeemStreamTicket(String ticket) {
+        Long id = streamTickets.remove(ticket);
+        return id == null ? null : getById(id);
+    }
+
+    /** Returns a fresh copy per call (without the password hash); changing it does not touch the cache. */
     public UserProfile getByToken(String token) {
         Long id = tokens.get(token);
         if (id == null) return null;
-        return repo.findById(id).orElse(null);
+        return getById(id);
+    }
+
+    private UserProfile getById(Long id) {
+        Principal cached = principals.get(id);
+        if (cached != null) return cached.toProfile();
+        long seen;
+        synchronized (evictLock) {
+            seen = evictions;
+        }
+        UserProfile u = repo.findById(id).orElse(null);
+        if (u == null) return null;
+        Principal loaded = Principal.of(u);
+        // a profile write that committed while we were reading may have been missed by this load
+        synchronized (evictLock) {
+            if (evictions == seen) principals.put(id, loaded);
+        }
+        return loaded.toProfile();
+    }
+
+    /**
+     * Drops the cached profile so the next request re-reads it (call after profile updates/deletes).
+     * Inside a transaction this happens after commit, so a concurrent miss cannot re-cache the old row.
+     */
+    public void evictPrincipal(Long userId) {
+        if (userId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    public BoundedTtlCache<Long, Principal> principalCache() {
+        return principals;
+    }
+
+    private void evict(Long userId) {
+        synchronized (evictLock) {
+            evictions++;
+            principals.invalidate(userId);
+        }
+    }
+
+    /** What the principal cache holds: the profile fields requests read, never the managed entity. */
+    public record Principal(Long id, String name, String email, Double monthlyIncome, String accountType, Long ownerId,
+                            String profileImageUrl) {
+
+        static Principal of(UserProfile u) {
+            return new Principal(u.getId(), u.getName(), u.getEmail(), u.getMonthlyIncome(), u.getAccountType(), u.getOwnerId(),
+                    u.getProfileImageUrl());
+        }
+
+        UserProfile toProfile() {
+            UserProfile u = new UserProfile(name, email, monthlyIncome, null, accountType, ownerId);
+            u.setId(id);
+            u.setProfileImageUrl(profileImageUrl);
+            return u;
+        }
     }
 }
@@ -0,0 +1,302 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Budget;
+import com.spendwise.SpendWise.repository.BudgetRepository;
+import com.spendwise.SpendWise.repository.CategoryTotal;
+import com.spendwise.SpendWise.repository.ExpenseRollupRepository;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Monthly budget status, polled through /api/budgets/status or pushed over a per-user SSE stream
+ * (/api/budgets/alerts/stream). Expense writes report the (owner, month, category) buckets they
+ * touch; once the transaction commits, only the monthly budgets on those buckets are re-evaluated
+ * and a {@code budget-alert} event goes out when one moves between ok, near-limit and over-budget.
+ * Owners without an open stream cost nothing. Idle streams hold no thread (async servlet); every
+ * send runs on a virtual thread, so a stalled client never holds up the others.
+ */
+@Service
+public class BudgetAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetAlertService.class);
+
+    public static final double NEAR_LIMIT_PERCENT = 80;
+
+    public enum Level { OK, NEAR_LIMIT, OVER_BUDGET }
+
+    private final BudgetRepository budgets;
+    private final ExpenseRollupRepository rollups;
+    private final long streamTimeoutMs;
+    private final int maxStreamsPerUser;
+    private final int maxStreams;
+    private final long reconnectMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final AtomicLong alertsSent = new AtomicLong();
+    // transaction resource key for the buckets the current transaction touched
+    private final Object touchedKey = new Object();
+
+    public BudgetAlertService(BudgetRepository budgets, ExpenseRollupRepository rollups,
+                              @Value("${budget-alerts.stream-timeout-ms:1800000}") long streamTimeoutMs,
+                              @Value("${budget-alerts.max-streams-per-user:5}") int maxStreamsPerUser,
+                              @Value("${budget-alerts.max-streams:10000}") int maxStreams,
+                              @Value("${budget-alerts.reconnect-ms:5000}") long reconnectMs) {
+        this.budgets = budgets;
+        this.rollups = rollups;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxStreamsPerUser = Math.max(1, maxStreamsPerUser);
+        this.maxStreams = Math.max(1, maxStreams);
+        this.reconnectMs = reconnectMs;
+    }
+
+    /** Status of every monthly budget of {@code ownerId} for the month, keyed by category. */
+    public Map<String, Map<String, Object>> status(Long ownerId, int year, int month) {
+        List<Budget> monthBudgets = budgets.findByOwnerIdAndPeriodAndMonthAndYear(ownerId, "monthly", month, year);
+        Map<String, Map<String, Object>> statusMap = new HashMap<>();
+        if (monthBudgets.isEmpty()) return statusMap;
+
+        Map<String, Long> spentByCategory = new HashMap<>();
+        for (CategoryTotal t : rollups.sumByCategoryForMonth(ownerId, year, month)) {
+            spentByCategory.put(t.getCategory(), t.getTotalCents());
+        }
+        for (Budget budget : monthBudgets) {
+            statusMap.put(budget.getCategory(), status(budget, spentByCategory.getOrDefault(budget.getCategory(), 0L)));
+        }
+        return statusMap;
+    }
+
+    /**
+     * Opens an alert stream. The first event ({@code budget-status}) is the current month's status;
+     * a user's oldest stream is closed beyond max-streams-per-user.
+     */
+    public SseEmitter subscribe(Long ownerId) {
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            throw new IllegalStateException("Too many open alert streams");
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Stream stream = new Stream(emitter);
+        List<SseEmitter> evicted = new ArrayList<>();
+        Subscriber s = subscribers.compute(ownerId, (k, cur) -> {
+            Subscriber sub = cur == null ? new Subscriber() : cur;
+            sub.streams.add(stream);
+            while (sub.streams.size() > maxStreamsPerUser) {
+                evicted.add(sub.streams.remove(0).emitter);
+                openStreams.decrementAndGet();
+            }
+            return sub;
+        });
+        emitter.onCompletion(() -> unsubscribe(ownerId, emitter));
+        emitter.onTimeout(() -> unsubscribe(ownerId, emitter));
+        emitter.onError(ex -> unsubscribe(ownerId, emitter));
+        evicted.forEach(SseEmitter::complete);
+
+        // under the evaluation lock: a write is either in the snapshot or alerted afterwards, never lost in between
+        s.evaluating.lock();
+        try {
+            LocalDate now = LocalDate.now();
+            Map<String, Map<String, Object>> snapshot = status(ownerId, now.getYear(), now.getMonthValue());
+            snapshot.values().forEach(st -> stream.levels.put((Long) st.get("budgetId"), level(st)));
+            stream.ready = true;
+            emitter.send(SseEmitter.event().name("budget-status").reconnectTime(reconnectMs).data(snapshot));
+        } catch (IOException ex) {
+            unsubscribe(ownerId, emitter);
+        } finally {
+            s.evaluating.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * Called for every expense write with the signed change to one bucket. Inside a transaction the
+     * buckets are collected and evaluated once after commit; rolled-back writes never alert.
+     */
+    public void expenseWritten(Long ownerId, int year, int month, String category, long deltaCents) {
+        if (ownerId == null || !subscribers.containsKey(ownerId)) return;
+        MonthKey key = new MonthKey(ownerId, year, month);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(Map.of(key, Map.of(category, deltaCents)));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<MonthKey, Map<String, Long>> touched = (Map<MonthKey, Map<String, Long>>) TransactionSynchronizationManager.getResource(touchedKey);
+        if (touched == null) {
+            Map<MonthKey, Map<String, Long>> fresh = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(touchedKey, fresh);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(fresh);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(touchedKey);
+                }
+            });
+            touched = fresh;
+        }
+        touched.computeIfAbsent(key, k -> new HashMap<>()).merge(category, deltaCents, Long::sum);
+    }
+
+    /** A budget of that month was created, changed or deleted: its limit may have moved across a threshold. */
+    public void budgetsChanged(Long ownerId, Integer year, Integer month) {
+        if (ownerId == null || year == null || month == null || !subscribers.containsKey(ownerId)) return;
+        executor.execute(() -> evaluate(new MonthKey(ownerId, year, month), null));
+    }
+
+    /** Keeps idle streams alive through proxies and drops the ones whose client went away. */
+    public void heartbeat() {
+        subscribers.forEach((ownerId, s) -> s.streams.forEach(stream ->
+                executor.execute(() -> send(ownerId, stream.emitter, SseEmitter.event().comment("ping")))));
+    }
+
+    public int openStreams() {
+        return openStreams.get();
+    }
+
+    public int subscribedUsers() {
+        return subscribers.size();
+    }
+
+    public long alertsSent() {
+        return alertsSent.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(s -> s.streams.forEach(stream -> stream.emitter.complete()));
+        executor.shutdownNow();
+    }
+
+    private void dispatch(Map<MonthKey, Map<String, Long>> touched) {
+        touched.forEach((key, deltas) -> executor.execute(() -> evaluate(key, deltas)));
+    }
+
+    /**
+     * Re-evaluates the month's budgets on the {@code deltas} categories (all of them when null).
+     * The previous level is the last one each stream saw; for a budget a stream has not seen yet
+     * (another month) it is derived from the write's own delta.
+     */
+    private void evaluate(MonthKey key, Map<String, Long> deltas) {
+        Subscriber s = subscribers.get(key.ownerId());
+        if (s == null) return;
+        // one evaluation per user at a time, so levels are updated in the order the reads happened
+        s.evaluating.lock();
+        try {
+            for (Budget b : budgets.findByOwnerIdAndPeriodAndMonthAndYear(key.ownerId(), "monthly", key.month(), key.year())) {
+                Long delta = deltas == null ? Long.valueOf(0) : deltas.get(b.getCategory());
+                if (delta == null) continue;
+                long spentCents = rollups.sumTotalCentsForMonthAndCategory(key.ownerId(), key.year(), key.month(), b.getCategory());
+                Level now = level(spentCents, b.getLimitAmountCents());
+                Level derived = level(spentCents - delta, b.getLimitAmountCents());
+                for (Stream stream : s.streams) {
+                    if (!stream.ready) continue;
+                    Level before = stream.levels.put(b.getId(), now);
+                    if (before == null) before = derived;
+                    if (before == now) continue;
+
+                    Map<String, Object> alert = status(b, spentCents);
+                    alert.put("month", key.month());
+                    alert.put("year", key.year());
+                    alert.put("level", now.name());
+                    alert.put("previousLevel", before.name());
+                    alertsSent.incrementAndGet();
+                    executor.execute(() -> send(key.ownerId(), stream.emitter, SseEmitter.event().name("budget-alert").data(alert)));
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Budget alert evaluation failed | owner={} | month={}-{} | error={}", key.ownerId(), key.year(), key.month(), ex.getMessage());
+        } finally {
+            s.evaluating.unlock();
+        }
+    }
+
+    private void send(Long ownerId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException ex) {
+            // client gone or stream already completed
+            unsubscribe(ownerId, emitter);
+        }
+    }
+
+    private void unsubscribe(Long ownerId, SseEmitter emitter) {
+        subscribers.computeIfPresent(ownerId, (k, sub) -> {
+            if (sub.streams.removeIf(st -> st.emitter == emitter)) openStreams.decrementAndGet();
+            return sub.streams.isEmpty() ? null : sub;
+        });
+    }
+
+    private static Map<String, Object> status(Budget budget, long spentCents) {
+        long limitCents = budget.getLimitAmountCents();
+        double percentage = limitCents > 0 ? (spentCents * 100.0) / limitCents : 0;
+        Level level = level(spentCents, limitCents);
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("budgetId", budget.getId());
+        status.put("category", budget.getCategory());
+        status.put("limit", MoneyAmountUtil.toDouble(limitCents));
+        status.put("spent", MoneyAmountUtil.toDouble(spentCents));
+        status.put("remaining", MoneyAmountUtil.toDouble(limitCents - spentCents));
+        status.put("percentage", percentage);
+        status.put("isOverBudget", level == Level.OVER_BUDGET);
+        status.put("isNearLimit", level == Level.NEAR_LIMIT);
+        return status;
+    }
+
+    static Level level(long spentCents, long limitCents) {
+        if (spentCents > limitCents) return Level.OVER_BUDGET;
+        double percentage = limitCents > 0 ? (spentCents * 100.0) / limitCents : 0;
+        return percentage >= NEAR_LIMIT_PERCENT ? Level.NEAR_LIMIT : Level.OK;
+    }
+
+    private static Level level(Map<String, Object> status) {
+        if (Boolean.TRUE.equals(status.get("isOverBudget"))) return Level.OVER_BUDGET;
+        return Boolean.TRUE.equals(status.get("isNearLimit")) ? Level.NEAR_LIMIT : Level.OK;
+    }
+
+    private record MonthKey(Long ownerId, int year, int month) {
+    }
+
+    private static final class Subscriber {
+        final List<Stream> streams = new CopyOnWriteArrayList<>();
+        // guards every stream's levels and ready flag
+        final ReentrantLock evaluating = new ReentrantLock();
+    }
+
+    private static final class Stream {
+        final SseEmitter emitter;
+        // budget id -> level this stream last saw (opening snapshot or a pushed alert)
+        final Map<Long, Level> levels = new HashMap<>();
+        boolean ready;
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.spendwise.SpendWise.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Hot/cold tiering for incomes and expenses. Rows dated before {@link #boundary()} (the first of
+ * the month {@code tiering.hot-months} ago) are moved into {@code incomes_cold} / {@code expenses_cold}
+ * and added to {@code cold_monthly_totals}. Each batch is a single statement, so a row is always in
+ * exactly one tier. Reads merge both tiers in the repositories (TieredQuerySupport); running
+ * totals, rollups and data versions are unaffected by a move.
+ */
+@Service
+public class ColdTierService {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdTierService.class);
+
+    private static final String ADD_TOTALS =
+            "on conflict (owner_id, kind, year, month) do update set " +
+            "total_cents = cold_monthly_totals.total_cents + excluded.total_cents, " +
+            "entry_count = cold_monthly_totals.entry_count + excluded.entry_count";
+
+    private static final String SUBTRACT_TOTALS =
+            "update cold_monthly_totals t set total_cents = t.total_cents - m.amount_cents, entry_count = t.entry_count - 1 " +
+            "from moved m where t.owner_id = m.owner_id and t.kind = '%s' " +
+            "and t.year = extract(year from m.date) and t.month = extract(month from m.date)";
+
+    private static final String MOVE_INCOMES =
+            "with moved as (" +
+            "  delete from incomes where id in (select id from incomes where date < ? and owner_id is not null " +
+            "    order by id limit ? for update skip locked) " +
+            "  returning id, owner_id, amount_cents, description, date" +
+            "), stored as (" +
+            "  insert into incomes_cold (id, owner_id, amount_cents, description, date) " +
+            "  select id, owner_id, amount_cents, description, date from moved order by owner_id, date, id returning 1" +
+            "), totals as (" +
+            "  insert into cold_monthly_totals (owner_id, kind, year, month, total_cents, entry_count) " +
+            "  select owner_id, 'income', extract(year from date), extract(month from date), sum(amount_cents), count(*) " +
+            "  from moved group by 1, 2, 3, 4 " + ADD_TOTALS +
+            ") select count(*) from stored";
+
+    private static final String MOVE_EXPENSES =
+            "with moved as (" +
+            "  delete from expenses where id in (select id from expenses where date < ? and owner_id is not null " +
+            "    order by id limit ? for update skip locked) " +
+            "  returning id, owner_id, amount_cents, description, date, category" +
+            "), stored as (" +
+            "  insert into expenses_cold (id, owner_id, amount_cents, description, date, category) " +
+            "  select id, owner_id, amount_cents, description, date, category from moved order by owner_id, date, id returning 1" +
+            "), totals as (" +
+            "  insert into cold_monthly_totals (owner_id, kind, year, month, total_cents, entry_count) " +
+            "  select owner_id, 'expense', extract(year from date), extract(month from date), sum(amount_cents), count(*) " +
+            "  from moved group by 1, 2, 3, 4 " + ADD_TOTALS +
+            ") select count(*) from stored";
+
+    private static final String THAW_INCOME =
+            "with moved as (" +
+            "  delete from incomes_cold where id = ? and owner_id = ? returning id, owner_id, amount_cents, description, date" +
+            "), totals as (" + SUBTRACT_TOTALS.formatted("income") + ") " +
+            "insert into incomes (id, owner_id, amount_cents, description, date) select * from moved";
+
+    private static final String THAW_EXPENSE =
+            "with moved as (" +
+            "  delete from expenses_cold where id = ? and owner_id = ? returning id, owner_id, amount_cents, description, date, category" +
+            "), totals as (" + SUBTRACT_TOTALS.formatted("expense") + ") " +
+            "insert into expenses (id, owner_id, amount_cents, description, date, category) select * from moved";
+
+    private final JdbcTemplate jdbc;
+    private final int hotMonths;
+    private final int batchSize;
+    // first day after the newest cold month on record; null until loaded
+    private volatile LocalDate storedColdBefore;
+
+    public ColdTierService(JdbcTemplate jdbc,
+                           @Value("${tiering.hot-months:12}") int hotMonths,
+                           @Value("${tiering.batch-size:10000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.hotMonths = Math.max(1, hotMonths);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /** Rows dated before this move to the cold tier. */
+    public LocalDate boundary() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(hotMonths);
+    }
+
+    /**
+     * Upper bound for dates in the cold tier: reads whose range starts on or after it skip the
+     * cold tables. Also covers rows moved under an earlier, longer-reaching configuration.
+     */
+    public LocalDate coldBefore() {
+        LocalDate stored = storedColdBefore;
+        if (stored == null) {
+            stored = loadColdBefore();
+            storedColdBefore = stored;
+        }
+        LocalDate boundary = boundary();
+        return stored.isAfter(boundary) ? stored : boundary;
+    }
+
+    /** Moves every row older than {@link #boundary()} in batches; returns the number of rows moved. */
+    public long archive() {
+        LocalDate boundary = boundary();
+        long incomes = drain(MOVE_INCOMES, boundary);
+        long expenses = drain(MOVE_EXPENSES, boundary);
+        storedColdBefore = loadColdBefore();
+        log.info("Cold tier archive | before={} | incomes={} | expenses={}", boundary, incomes, expenses);
+        return incomes + expenses;
+    }
+
+    private long drain(String sql, LocalDate boundary) {
+        long total = 0;
+        long moved;
+        do {
+            moved = jdbc.queryForObject(sql, Long.class, boundary, batchSize);
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+
+    /**
+     * Moves one cold income back to the hot table so it can be edited or deleted like any other.
+     * Returns false when there is no such cold row for this owner.
+     */
+    public boolean thawIncome(Long id, Long ownerId) {
+        return jdbc.update(THAW_INCOME, id, ownerId) > 0;
+    }
+
+    public boolean thawExpense(Long id, Long ownerId) {
+        return jdbc.update(THAW_EXPENSE, id, ownerId) > 0;
+    }
+
+    private LocalDate loadColdBefore() {
+        LocalDate newest = jdbc.queryForObject("select max(make_date(year, month, 1)) from cold_monthly_totals", LocalDate.class);
+        return newest == null ? LocalDate.MIN : newest.plusMonths(1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.spendwise.SpendWise.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user data version used for conditional GETs. Every write that can change what a user's
+ * dashboard shows bumps the version; read endpoints derive a strong ETag from it and can answer
+ * If-None-Match with 304 before touching the database. Versions live in memory, so the tag also
+ * carries a boot epoch: a restart invalidates every tag handed out before it.
+ */
+@Service
+public class DataVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /** Bumps once the surrounding transaction commits, or immediately when there is none. */
+    public void bump(Long userId) {
+        if (userId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(userId);
+                }
+            });
+        } else {
+            increment(userId);
+        }
+    }
+
+    public void bump(Long... userIds) {
+        for (Long id : userIds) bump(id);
+    }
+
+    public long version(Long userId) {
+        AtomicLong v = versions.get(userId);
+        return v == null ? 0 : v.get();
+    }
+
+    /**
+     * Strong ETag for {@code resource} as seen by {@code userId}. Request parameters that shape the
+     * response are folded in so different views of the same data do not share a tag.
+     */
+    public String etag(Long userId, String resource, Object... params) {
+        int paramsHash = Arrays.hashCode(params);
+        return "\"" + resource + "-" + userId + "-" + epoch + "-" + version(userId) + "-" + Integer.toHexString(paramsHash) + "\"";
+    }
+
+    private void increment(Long userId) {
+        versions.computeIfAbsent(userId, k -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,96 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.repository.DebtRepository;
+import com.spendwise.SpendWise.repository.UserProfileRepository;
+import com.spendwise.SpendWise.util.SettlePlanUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settle-up plans for pending debts. A group owner nets every pending debt inside the group;
+ * everyone else (individual accounts and group members) nets only their own debts, per
+ * counterparty, so a plan never moves money between two other people. Applying a plan settles all
+ * debts it was computed from and records one settled "Settle-up payment" per transfer, in a
+ * single transaction, provided the debts still match the plan's fingerprint.
+ */
+@Service
+public class DebtSettlementService {
+
+    private static final int SETTLE_BATCH = 1000;
+
+    private final DebtRepository debts;
+    private final UserProfileRepository users;
+    private final DataVersionService versions;
+
+    public DebtSettlementService(DebtRepository debts, UserProfileRepository users, DataVersionService versions) {
+        this.debts = debts;
+        this.users = users;
+        this.versions = versions;
+    }
+
+    @Transactional(readOnly = true)
+    public SettlePlanUtil.Plan plan(UserProfile u) {
+        Set<Long> group = groupOwnedBy(u);
+        List<Debt> pending = group == null ? debts.findPendingDebtsByUserId(u.getId()) : debts.findPendingWithinGroup(group);
+        return planFor(u, group, SettlePlanUtil.settleable(pending));
+    }
+
+    /**
+     * Settles the plan identified by {@code fingerprint}. Returns null, changing nothing, when the
+     * pending debts differ from the ones the plan was computed from.
+     */
+    @Transactional
+    public SettlePlanUtil.Plan apply(UserProfile u, String fingerprint) {
+        Set<Long> group = groupOwnedBy(u);
+        // row locks keep concurrent creates/settles from slipping in between the check and the update
+        List<Debt> pending = SettlePlanUtil.settleable(
+                group == null ? debts.lockPendingDebtsByUserId(u.getId()) : debts.lockPendingWithinGroup(group));
+        SettlePlanUtil.Plan plan = planFor(u, group, pending);
+        if (!plan.fingerprint().equals(fingerprint)) return null;
+
+        List<Long> ids = new ArrayList<>(pending.size());
+        for (Debt d : pending) ids.add(d.getId());
+        for (int i = 0; i < ids.size(); i += SETTLE_BATCH) {
+            debts.settleAll(ids.subList(i, Math.min(ids.size(), i + SETTLE_BATCH)));
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Debt> payments = new ArrayList<>(plan.transfers().size());
+        for (SettlePlanUtil.Transfer t : plan.transfers()) {
+            Debt payment = new Debt(t.fromUserId(), t.toUserId(), null, "Settle-up payment", today);
+            payment.setAmountCents(t.amountCents());
+            payment.setStatus("settled");
+            payments.add(payment);
+        }
+        debts.saveAll(payments);
+
+        Set<Long> touched = new LinkedHashSet<>();
+        for (Debt d : pending) {
+            touched.add(d.getFromUserId());
+            touched.add(d.getToUserId());
+        }
+        touched.forEach(versions::bump);
+        return plan;
+    }
+
+    private static SettlePlanUtil.Plan planFor(UserProfile u, Set<Long> group, List<Debt> pending) {
+        return group == null ? SettlePlanUtil.planAgainst(u.getId(), pending) : SettlePlanUtil.plan(pending);
+    }
+
+    /** The owner and members of the group {@code u} owns, or null when {@code u} is not a group owner. */
+    private Set<Long> groupOwnedBy(UserProfile u) {
+        if (u.getOwnerId() != null || !"group".equalsIgnoreCase(u.getAccountType())) return null;
+        Set<Long> ids = new LinkedHashSet<>();
+        ids.add(u.getId());
+        for (UserProfile m : users.findByOwnerId(u.getId())) ids.add(m.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,149 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Expense;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code expense_rollups} in step with {@code expenses}. Every expense write applies a
+ * delta to its (owner, year, month, category, day) bucket inside the caller's transaction, so the
+ * read endpoints can sum a handful of buckets instead of scanning the raw history. Each delta is
+ * also reported to {@link BudgetAlertService}, which re-checks the budgets on that bucket after commit.
+ */
+@Service
+public class ExpenseRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseRollupService.class);
+
+    public static final String UNCATEGORIZED = "";
+
+    private static final String UPSERT =
+            "insert into expense_rollups (owner_id, year, month, day, category, total_cents, entry_count) values (?, ?, ?, ?, ?, ?, ?) " +
+            "on conflict (owner_id, year, month, category, day) do update " +
+            "set total_cents = expense_rollups.total_cents + excluded.total_cents, entry_count = expense_rollups.entry_count + excluded.entry_count";
+
+    private static final String DELETE_EMPTY =
+            "delete from expense_rollups where owner_id = ? and year = ? and month = ? and category = ? and day = ? and entry_count <= 0";
+
+    private static final String REBUILD_SELECT =
+            "select owner_id, cast(extract(year from date) as int), cast(extract(month from date) as int), cast(extract(day from date) as int), " +
+            "coalesce(category, ''), coalesce(sum(amount_cents), 0), count(*) from (" +
+            "select owner_id, date, category, amount_cents from expenses union all " +
+            "select owner_id, date, category, amount_cents from expenses_cold) e ";
+
+    // per-owner transaction lock: writers take it shared, a per-user rebuild exclusively
+    private static final int ROLLUP_LOCK = 0x524f4c4c;
+    private static final String LOCK_OWNER_SHARED = "select pg_advisory_xact_lock_shared(?, ?)";
+    private static final String LOCK_OWNER = "select pg_advisory_xact_lock(?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final BudgetAlertService alerts;
+
+    public ExpenseRollupService(JdbcTemplate jdbc, BudgetAlertService alerts) {
+        this.jdbc = jdbc;
+        this.alerts = alerts;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Expense e) {
+        adjust(e.getOwnerId(), e.getDate(), e.getCategory(), e.getAmountCents(), 1);
+    }
+
+    /**
+     * Applies several new expenses with one JDBC batch (split expenses, import chunks). Rows are
+     * summed per bucket first: the driver rewrites the batch into one multi-row insert, and an
+     * upsert may not touch the same bucket twice in a single statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(List<Expense> saved) {
+        Map<Bucket, long[]> buckets = new LinkedHashMap<>();
+        for (Expense e : saved) {
+            if (e.getOwnerId() == null || e.getDate() == null) continue;
+            LocalDate d = e.getDate();
+            long[] sum = buckets.computeIfAbsent(new Bucket(e.getOwnerId(), d.getYear(), d.getMonthValue(), d.getDayOfMonth(),
+                    bucketCategory(e.getCategory())), k -> new long[2]);
+            sum[0] += e.getAmountCents();
+            sum[1]++;
+        }
+        buckets.keySet().stream().map(Bucket::ownerId).distinct().sorted().forEach(id -> lockOwner(id, false));
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((b, sum) -> rows.add(new Object[]{b.ownerId(), b.year(), b.month(), b.day(), b.category(), sum[0], sum[1]}));
+        if (!rows.isEmpty()) jdbc.batchUpdate(UPSERT, rows);
+        buckets.forEach((b, sum) -> alerts.expenseWritten(b.ownerId(), b.year(), b.month(), b.category(), sum[0]));
+    }
+
+    private record Bucket(Long ownerId, int year, int month, int day, String category) {
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retract(Expense e) {
+        adjust(e.getOwnerId(), e.getDate(), e.getCategory(), e.getAmountCents(), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retract(Long ownerId, LocalDate date, String category, long amountCents) {
+        adjust(ownerId, date, category, amountCents, -1);
+    }
+
+    private void adjust(Long ownerId, LocalDate date, String category, long amountCents, int sign) {
+        // expenses without a date have no bucket (the daily view never showed them either)
+        if (ownerId == null || date == null) return;
+        String cat = bucketCategory(category);
+        lockOwner(ownerId, false);
+        jdbc.update(UPSERT, ownerId, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), cat, sign * amountCents, (long) sign);
+        if (sign < 0) {
+            jdbc.update(DELETE_EMPTY, ownerId, date.getYear(), date.getMonthValue(), cat, date.getDayOfMonth());
+        }
+        alerts.expenseWritten(ownerId, date.getYear(), date.getMonthValue(), cat, sign * amountCents);
+    }
+
+    /**
+     * Recomputes one user's buckets from the raw expenses. Only that user's expense writes wait for
+     * it: they take the owner lock before touching a bucket, and it is taken here before anything else.
+     */
+    @Transactional
+    public void rebuild(Long ownerId) {
+        lockOwner(ownerId, true);
+        jdbc.update("delete from expense_rollups where owner_id = ?", ownerId);
+        jdbc.update("insert into expense_rollups (owner_id, year, month, day, category, total_cents, entry_count) " +
+                REBUILD_SELECT + "where owner_id = ? and date is not null group by 1, 2, 3, 4, 5", ownerId);
+    }
+
+    /** Backfill: recomputes every bucket. Expense writes block until it commits. */
+    @Transactional
+    public int rebuildAll() {
+        jdbc.execute("lock table expenses in share mode");
+        jdbc.update("delete from expense_rollups");
+        int buckets = jdbc.update("insert into expense_rollups (owner_id, year, month, day, category, total_cents, entry_count) " +
+                REBUILD_SELECT + "where owner_id is not null and date is not null group by 1, 2, 3, 4, 5");
+        log.info("Expense rollups rebuilt | buckets={}", buckets);
+        return buckets;
+    }
+
+    private void lockOwner(Long ownerId, boolean exclusive) {
+        jdbc.queryForList(exclusive ? LOCK_OWNER : LOCK_OWNER_SHARED, ROLLUP_LOCK, Long.hashCode(ownerId));
+    }
+
+    public boolean isEmpty() {
+        Boolean exists = jdbc.queryForObject("select exists (select 1 from expense_rollups)", Boolean.class);
+        return exists == null || !exists;
+    }
+
+    /**
+     * Uncategorized expenses get their own bucket rather than sharing "Other", so they never count
+     * against an "Other" budget; the category breakdown still labels them "Other".
+     */
+    public static String bucketCategory(String category) {
+        return category == null ? UNCATEGORIZED : category;
+    }
+}
@@ -0,0 +1,274 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.util.ExpenseJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind path for single expenses (expense.write-behind.enabled). An accepted
+ * expense is appended to a local {@link ExpenseJournal} and fsynced (group fsync across concurrent
+ * callers) before it is acknowledged; one committer thread then inserts queued expenses through
+ * {@link FinanceService#saveChunk} in batches of up to batch-size, one transaction per batch, and
+ * records the highest committed sequence in {@code write_behind_checkpoints} in that same
+ * transaction. Startup replays journal records past the checkpoint. Reads by an owner with queued
+ * expenses go through {@link #awaitCommitted}, which flushes the queue immediately.
+ */
+@Service
+public class ExpenseWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseWriteBehindService.class);
+
+    private static final String CHECKPOINT =
+            "insert into write_behind_checkpoints (journal, committed_seq) values (?, ?) " +
+            "on conflict (journal) do update set committed_seq = excluded.committed_seq";
+
+    private final FinanceService financeService;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+    private final Path journalDir;
+    private final String journalName;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long readTimeoutNanos;
+    private final long segmentBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // guarded by lock: accepted entries in sequence order; the committer removes them once committed
+    private final ArrayDeque<ExpenseJournal.Entry> queue = new ArrayDeque<>();
+    private long nextSeq;
+    private long committedSeq;
+    private boolean urgent;
+    private volatile boolean running;
+    // owner -> newest queued sequence, so reads by owners without queued writes never take the lock
+    private final Map<Long, Long> pendingByOwner = new ConcurrentHashMap<>();
+
+    private ExpenseJournal journal;
+    private Thread committer;
+
+    public ExpenseWriteBehindService(FinanceService financeService, JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                                     @Value("${expense.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${expense.write-behind.journal-dir:data/expense-journal}") String journalDir,
+                                     @Value("${expense.write-behind.journal-name:expenses}") String journalName,
+                                     @Value("${expense.write-behind.batch-size:500}") int batchSize,
+                                     @Value("${expense.write-behind.linger-ms:20}") long lingerMs,
+                                     @Value("${expense.write-behind.read-timeout-ms:5000}") long readTimeoutMs,
+                                     @Value("${expense.write-behind.segment-bytes:16777216}") long segmentBytes) {
+        this.financeService = financeService;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.enabled = enabled;
+        this.journalDir = Path.of(journalDir);
+        this.journalName = journalName;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+        this.readTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, readTimeoutMs));
+        this.segmentBytes = Math.max(1 << 16, segmentBytes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Replays records the database has not seen yet, then starts the committer. */
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) return;
+        List<Long> stored = jdbc.queryForList("select committed_seq from write_behind_checkpoints where journal = ?", Long.class, journalName);
+        long checkpoint = stored.isEmpty() ? 0 : stored.get(0);
+        journal = ExpenseJournal.open(journalDir, segmentBytes, e -> {
+            if (e.seq() > checkpoint) {
+                queue.add(e);
+                pendingByOwner.put(e.ownerId(), e.seq());
+            }
+        });
+        committedSeq = checkpoint;
+        nextSeq = Math.max(checkpoint, journal.lastSeq()) + 1;
+        running = true;
+        committer = Thread.ofPlatform().name("expense-write-behind").daemon().start(this::runCommitter);
+        log.info("Expense write-behind started | journal={} | checkpoint={} | replayed={}", journalDir.toAbsolutePath(), checkpoint, queue.size());
+    }
+
+    /**
+     * Journals one expense and returns once it is durable; the insert happens later. Rejects input
+     * the insert would fail on, since a failing record would hold up every batch behind it.
+     */
+    public void accept(Expense e) {
+        if (e.getOwnerId() == null) throw new IllegalArgumentException("Missing owner");
+        if (e.getDescription() != null && e.getDescription().length() > 255) throw new IllegalArgumentException("Description is too long");
+        if (e.getCategory() != null && e.getCategory().length() > 255) throw new IllegalArgumentException("Category is too long");
+        long seq;
+        lock.lock();
+        try {
+            if (!running) throw new IllegalStateException("Write-behind is not running");
+            seq = nextSeq;
+            ExpenseJournal.Entry entry = new ExpenseJournal.Entry(seq, e.getOwnerId(), e.getAmountCents(), e.getDate(), e.getDescription(), e.getCategory());
+            journal.append(entry);
+            nextSeq++;
+            queue.add(entry);
+            pendingByOwner.put(e.getOwnerId(), seq);
+            // wake the committer when work arrives and when a full batch is ready
+            if (queue.size() == 1 || queue.size() >= batchSize) changed.signalAll();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            journal.sync(seq);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Blocks until every queued expense of {@code ownerId} is committed, asking the committer to
+     * flush now instead of lingering. Returns false if that did not happen within read-timeout-ms.
+     */
+    public boolean awaitCommitted(Long ownerId) {
+        Long target = ownerId == null ? null : pendingByOwner.get(ownerId);
+        if (target == null) return true;
+        lock.lock();
+        try {
+            long remaining = readTimeoutNanos;
+            urgent = true;
+            changed.signalAll();
+            while (committedSeq < target) {
+                if (remaining <= 0) return false;
+                remaining = changed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pending() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runCommitter() {
+        long backoffMs = 100;
+        while (true) {
+            List<ExpenseJournal.Entry> batch = nextBatch();
+            if (batch == null) return;
+            try {
+                commit(batch);
+                backoffMs = 100;
+            } catch (RuntimeException ex) {
+                log.warn("Expense write-behind commit failed, retrying | size={} | error={}", batch.size(), ex.getMessage());
+                // on shutdown the rest stays in the journal for the next start
+                if (!running) return;
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoffMs = Math.min(5_000, backoffMs * 2);
+            }
+        }
+    }
+
+    /** Waits for work, lingers briefly so concurrent writers share a commit, and returns the head of the queue (null on shutdown). */
+    private List<ExpenseJournal.Entry> nextBatch() {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (!running) return null;
+                changed.await();
+            }
+            long remaining = lingerNanos;
+            while (running && !urgent && queue.size() < batchSize && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+            urgent = false;
+            List<ExpenseJournal.Entry> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+            Iterator<ExpenseJournal.Entry> it = queue.iterator();
+            while (it.hasNext() && batch.size() < batchSize) batch.add(it.next());
+            return batch;
+        } catch (InterruptedException ex) {
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commit(List<ExpenseJournal.Entry> batch) {
+        // fresh entities on every attempt: a rolled-back attempt leaves ids on the ones it saved
+        List<Expense> expenses = new ArrayList<>(batch.size());
+        for (ExpenseJournal.Entry e : batch) {
+            Expense ex = new Expense(e.ownerId(), null, e.description(), e.date(), e.category());
+            ex.setAmountCents(e.amountCents());
+            expenses.add(ex);
+        }
+        long last = batch.get(batch.size() - 1).seq();
+        tx.executeWithoutResult(status -> {
+            financeService.saveChunk(List.of(), expenses, List.of());
+            jdbc.update(CHECKPOINT, journalName, last);
+        });
+
+        Map<Long, Long> newestByOwner = new HashMap<>();
+        for (ExpenseJournal.Entry e : batch) newestByOwner.put(e.ownerId(), e.seq());
+        lock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) queue.poll();
+            committedSeq = last;
+            newestByOwner.forEach(pendingByOwner::remove);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            journal.release(last);
+        } catch (IOException ex) {
+            log.warn("Expense journal cleanup failed | error={}", ex.getMessage());
+        }
+    }
+
+    /** Stops accepting, commits what is queued (best effort), and closes the journal; anything left is replayed next start. */
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (!enabled || committer == null) return;
+        lock.lock();
+        try {
+            running = false;
+            urgent = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        committer.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.model.Income;
+import com.spendwise.SpendWise.model.Investment;
+import com.spendwise.SpendWise.repository.ExpenseRepository;
+import com.spendwise.SpendWise.repository.IncomeRepository;
+import com.spendwise.SpendWise.repository.InvestmentRepository;
+import com.spendwise.SpendWise.util.CsvExportUtil;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+
+    public static final Set<String> ALL_TYPES = Set.of("income", "expense", "investment");
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final IncomeRepository incomes;
+    private final ExpenseRepository expenses;
+    private final InvestmentRepository investments;
+    private final EntityManager em;
+
+    public ExportService(IncomeRepository incomes, ExpenseRepository expenses, InvestmentRepository investments, EntityManager em) {
+        this.incomes = incomes;
+        this.expenses = expenses;
+        this.investments = investments;
+        this.em = em;
+    }
+
+    /**
+     * Streams the CSV export straight from DB cursors. Each row is detached after it is written
+     * so the persistence context (and the heap) stays flat regardless of history size.
+     * {@code from}/{@code to} are both null for an unbounded export.
+     */
+    @Transactional(readOnly = true)
+    public void writeCsv(Long ownerId, Set<String> types, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        StringBuilder row = new StringBuilder(256);
+        RowCounter counter = new RowCounter();
+        w.write(CsvExportUtil.HEADER);
+
+        if (types.contains("income")) {
+            try (Stream<Income> s = from == null ? incomes.streamByOwnerId(ownerId) : incomes.streamByOwnerIdAndDateBetween(ownerId, from, to)) {
+                drain(s, w, counter, i -> CsvExportUtil.appendRow(row, "Income", i.getDate(), i.getDescription(), i.getAmountCents(), null), row);
+            }
+        }
+        if (types.contains("expense")) {
+            try (Stream<Expense> s = from == null ? expenses.streamByOwnerId(ownerId) : expenses.streamByOwnerIdAndDateBetween(ownerId, from, to)) {
+                drain(s, w, counter, e -> CsvExportUtil.appendRow(row, "Expense", e.getDate(), e.getDescription(), e.getAmountCents(),
+                        e.getCategory() == null ? "Other" : e.getCategory()), row);
+            }
+        }
+        if (types.contains("investment")) {
+            try (Stream<Investment> s = from == null ? investments.streamByOwnerId(ownerId) : investments.streamByOwnerIdAndDateBetween(ownerId, from, to)) {
+                drain(s, w, counter, iv -> CsvExportUtil.appendRow(row, "Investment", iv.getDate(), iv.getDescription(), iv.getAmountCents(), null), row);
+            }
+        }
+        w.flush();
+    }
+
+    private <T> void drain(Stream<T> rows, Writer w, RowCounter counter, Consumer<T> format, StringBuilder row) throws IOException {
+        Iterator<T> it = rows.iterator();
+        while (it.hasNext()) {
+            T entity = it.next();
+            row.setLength(0);
+            format.accept(entity);
+            w.append(row);
+            em.detach(entity);
+            if (++counter.rows % FLUSH_EVERY_ROWS == 0) w.flush();
+        }
+    }
+
+    private static final class RowCounter {
+        long rows;
+    }
+}
@@ -8,13 +8,18 @@ import com.spendwise.SpendWise.repository.ExpenseRepository;
 import com.spendwise.SpendWise.repository.IncomeRepository;
 import com.spendwise.SpendWise.repository.InvestmentRepository;
 import com.spendwise.SpendWise.repository.UserProfileRepository;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class FinanceService {
@@ -23,36 +28,158 @@ public class FinanceService {
     private final IncomeRepository incomes;
     private final InvestmentRepository investments;
     private final UserProfileRepository usersRepo;
+    private final ExpenseRollupService rollups;
+    private final EntityManager em;
+    private final DataVersionService versions;
+    private final RunningTotalsService totals;
 
-    public FinanceService(ExpenseRepository expenses, IncomeRepository incomes, InvestmentRepository investments, UserProfileRepository usersRepo) {
+    public FinanceService(ExpenseRepository expenses, IncomeRepository incomes, InvestmentRepository investments, UserProfileRepository usersRepo, ExpenseRollupService rollups, EntityManager em, DataVersionService versions, RunningTotalsService totals) {
         this.expenses = expenses;
         this.incomes = incomes;
         this.investments = investments;
         this.usersRepo = usersRepo;
+        this.rollups = rollups;
+        this.em = em;
+        this.versions = versions;
+        this.totals = totals;
     }
 
     @Transactional
-    public Map<String,Object> createSplitExpense(UserProfile owner, Double amount, String description, LocalDate date) {
+    public Income createIncome(Income income) {
+        totals.adjustIncome(income.getOwnerId(), income.getAmountCents());
+        Income saved = incomes.save(income);
+        versions.bump(saved.getOwnerId());
+        return saved;
+    }
+
+    @Transactional
+    public Income updateIncome(Income inc, Long amountCents, String description, LocalDate date) {
+        if (amountCents != null) totals.adjustIncome(inc.getOwnerId(), amountCents - inc.getAmountCents());
+        if (amountCents != null) inc.setAmountCents(amountCents);
+        if (description != null) inc.setDescription(description);
+        if (date != null) inc.setDate(date);
+        Income saved = incomes.save(inc);
+        versions.bump(saved.getOwnerId());
+        return saved;
+    }
+
+    @Transactional
+    public void deleteIncome(Income inc) {
+        totals.adjustIncome(inc.getOwnerId(), -inc.getAmountCents());
+        incomes.deleteById(inc.getId());
+        versions.bump(inc.getOwnerId());
+    }
+
+    @Transactional
+    public Investment createInvestment(Investment investment) {
+        totals.adjustInvestment(investment.getOwnerId(), investment.getAmountCents());
+        Investment saved = investments.save(investment);
+        versions.bump(saved.getOwnerId());
+        return saved;
+    }
+
+    @Transactional
+    public Investment updateInvestment(Investment iv, Long amountCents, String description, LocalDate date) {
+        if (amountCents != null) totals.adjustInvestment(iv.getOwnerId(), amountCents - iv.getAmountCents());
+        if (amountCents != null) iv.setAmountCents(amountCents);
+        if (description != null) iv.setDescription(description);
+        if (date != null) iv.setDate(date);
+        Investment saved = investments.save(iv);
+        versions.bump(saved.getOwnerId());
+        return saved;
+    }
+
+    @Transactional
+    public void deleteInvestment(Investment iv) {
+        totals.adjustInvestment(iv.getOwnerId(), -iv.getAmountCents());
+        investments.deleteById(iv.getId());
+        versions.bump(iv.getOwnerId());
+    }
+
+    @Transactional
+    public Expense createExpense(Expense expense) {
+        totals.adjustExpense(expense.getOwnerId(), expense.getAmountCents());
+        Expense saved = expenses.save(expense);
+        rollups.apply(saved);
+        versions.bump(saved.getOwnerId());
+        return saved;
+    }
+
+    /** Applies the non-null changes and moves the expense between rollup buckets. */
+    @Transactional
+    public Expense updateExpense(Expense ex, Long amountCents, String description, LocalDate date, String category) {
+        rollups.retract(ex.getOwnerId(), ex.getDate(), ex.getCategory(), ex.getAmountCents());
+        if (amountCents != null) totals.adjustExpense(ex.getOwnerId(), amountCents - ex.getAmountCents());
+        if (amountCents != null) ex.setAmountCents(amountCents);
+        if (description != null) ex.setDescription(description);
+        if (date != null) ex.setDate(date);
+        if (category != null) ex.setCategory(category);
+        Expense saved = expenses.save(ex);
+        rollups.apply(saved);
+        versions.bump(saved.getOwnerId());
+        return saved;
+    }
+
+    @Transactional
+    public void deleteExpense(Expense ex) {
+        rollups.retract(ex);
+        totals.adjustExpense(ex.getOwnerId(), -ex.getAmountCents());
+        expenses.deleteById(ex.getId());
+        versions.bump(ex.getOwnerId());
+    }
+
+    /**
+     * Persists one import chunk in a single transaction (batched inserts) and clears the
+     * persistence context afterwards so long imports do not accumulate managed entities.
+     */
+    @Transactional
+    public void saveChunk(List<Income> newIncomes, List<Expense> newExpenses, List<Investment> newInvestments) {
+        // one totals update per owner: [income, expense, investment]
+        Map<Long, long[]> deltas = new HashMap<>();
+        newIncomes.forEach(i -> deltas.computeIfAbsent(i.getOwnerId(), k -> new long[3])[0] += i.getAmountCents());
+        newExpenses.forEach(e -> deltas.computeIfAbsent(e.getOwnerId(), k -> new long[3])[1] += e.getAmountCents());
+        newInvestments.forEach(i -> deltas.computeIfAbsent(i.getOwnerId(), k -> new long[3])[2] += i.getAmountCents());
+        deltas.forEach((owner, d) -> totals.adjust(owner, d[0], 0, d[1], d[2]));
+        if (!newIncomes.isEmpty()) incomes.saveAll(newIncomes);
+        if (!newExpenses.isEmpty()) rollups.applyAll(expenses.saveAll(newExpenses));
+        if (!newInvestments.isEmpty()) investments.saveAll(newInvestments);
+        Set<Long> owners = new HashSet<>();
+        newIncomes.forEach(i -> owners.add(i.getOwnerId()));
+        newExpenses.forEach(e -> owners.add(e.getOwnerId()));
+        newInvestments.forEach(i -> owners.add(i.getOwnerId()));
+        owners.forEach(versions::bump);
+        em.flush();
+        em.clear();
+    }
+
+    @Transactional
+    public Map<String,Object> createSplitExpense(UserProfile owner, long amountCents, String description, LocalDate date) {
         Map<String,Object> resp = new HashMap<>();
         List<UserProfile> members = usersRepo.findByOwnerId(owner.getId());
         int parties = 1 + (members == null ? 0 : members.size());
-        double share = parties > 0 ? amount / parties : amount;
-
-        // create expense for owner
-        Expense ownerExpense = new Expense(owner.getId(), share, description + " (split)", date);
-        expenses.save(ownerExpense);
+        long share = amountCents / parties;
+        // the leftover cents go one each to the first parties (owner first) so the shares add up exactly
+        long remainder = amountCents % parties;
 
+        // one expense for the owner plus one per member, inserted as a single JDBC batch
+        List<Long> partyIds = new ArrayList<>(parties);
+        partyIds.add(owner.getId());
         if (members != null) {
-            for (UserProfile m : members) {
-                Expense me = new Expense(m.getId(), share, description + " (split)", date);
-                expenses.save(me);
-            }
+            for (UserProfile m : members) partyIds.add(m.getId());
         }
+        List<Expense> rows = new ArrayList<>(parties);
+        for (int i = 0; i < parties; i++) {
+            Expense e = new Expense(partyIds.get(i), null, description + " (split)", date);
+            e.setAmountCents(share + (i < Math.abs(remainder) ? Long.signum(remainder) : 0));
+            rows.add(e);
+        }
+        totals.addExpenses(rows);
+        rollups.applyAll(expenses.saveAll(rows));
+        rows.forEach(e -> versions.bump(e.getOwnerId()));
 
         resp.put("status","ok");
-        resp.put("splitPerPerson", share);
+        resp.put("splitPerPerson", MoneyAmountUtil.toDouble(share));
         resp.put("parties", parties);
         return resp;
     }
-
 }
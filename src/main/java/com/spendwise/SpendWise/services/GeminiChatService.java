@@ -0,0 +1,203 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Asks Gemini a question without blocking the caller: the returned Mono completes on the
+ * HTTP client's event loop, bounded by {@code gemini.timeout.overall-ms}.
+ * Answers are cached by normalised question, and concurrent identical questions share
+ * a single upstream call. Every upstream attempt first takes a token from
+ * {@link GeminiRateLimiter}; 429/503 responses are retried with jittered exponential backoff
+ * and their Retry-After pauses the limiter for everyone.
+ */
+@Service
+public class GeminiChatService {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_MAP = new ParameterizedTypeReference<>() {};
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.]+$");
+
+    private final WebClient webClient;
+    private final String apiUrl;
+    private final String apiKey;
+    private final Duration overallTimeout;
+    private final GeminiRateLimiter limiter;
+    private final int maxRetries;
+    private final long backoffMillis;
+
+    private final BoundedTtlCache<String, String> answers;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public GeminiChatService(@Qualifier("geminiWebClient") WebClient webClient,
+                             @Value("${gemini.api.url}") String apiUrl,
+                             @Value("${gemini.api.key}") String apiKey,
+                             @Value("${gemini.timeout.overall-ms:25000}") long overallTimeoutMs,
+                             @Value("${chat.answer-cache.max-size:1000}") int cacheMaxSize,
+                             @Value("${chat.answer-cache.ttl-seconds:3600}") long cacheTtlSeconds,
+                             GeminiRateLimiter limiter,
+                             @Value("${gemini.retry.max-attempts:2}") int maxRetries,
+                             @Value("${gemini.retry.backoff-ms:500}") long backoffMillis) {
+        this.webClient = webClient;
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.overallTimeout = Duration.ofMillis(overallTimeoutMs);
+        this.answers = new BoundedTtlCache<>(cacheMaxSize, cacheTtlSeconds * 1000L);
+        this.limiter = limiter;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMillis = Math.max(1, backoffMillis);
+    }
+
+    /** Emits the trimmed answer, or completes empty when Gemini returned no text. */
+    public Mono<String> ask(String question) {
+        String key = normalize(question);
+        return Mono.defer(() -> {
+            String cached = answers.get(key);
+            if (cached != null) return Mono.just(cached);
+
+            boolean[] leader = {false};
+            Mono<String> flight = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                // cache() replays the single upstream result to every caller that joined this flight;
+                // the entry is dropped once the call terminates so failures are not remembered
+                return callGemini(question)
+                        .doOnNext(answer -> answers.put(k, answer))
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            if (!leader[0]) coalesced.incrementAndGet();
+            return flight;
+        });
+    }
+
+    /** Lower-cases, collapses whitespace and drops trailing punctuation so trivially different phrasings share an entry. */
+    static String normalize(String question) {
+        String q = WHITESPACE.matcher(question.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return TRAILING_PUNCTUATION.matcher(q).replaceAll("");
+    }
+
+    private Mono<String> callGemini(String question) {
+        // Build the Gemini request with proper format
+        Map<String, Object> textPart = new HashMap<>();
+        textPart.put("text", question);
+
+        Map<String, Object> contentItem = new HashMap<>();
+        contentItem.put("parts", List.of(textPart));
+
+        Map<String, Object> geminiRequest = new HashMap<>();
+        geminiRequest.put("contents", List.of(contentItem));
+
+        // Call Gemini API with API key as query parameter
+        String urlWithKey = apiUrl + "?key=" + apiKey;
+
+        // the deadline covers queueing in the limiter and any retries, not just one attempt
+        return Mono.defer(() -> limiter.acquire().then(webClient.post()
+                        .uri(urlWithKey)
+                        .header("Content-Type", "application/json")
+                        .bodyValue(geminiRequest)
+                        .retrieve()
+                        .bodyToMono(JSON_MAP)))
+                .retryWhen(upstreamRetry())
+                .timeout(overallTimeout)
+                .mapNotNull(GeminiChatService::extractAnswer);
+    }
+
+    private Retry upstreamRetry() {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable e = signal.failure();
+            if (!isRetryable(e) || signal.totalRetries() >= maxRetries) return Mono.error(e);
+            Duration retryAfter = retryAfter((WebClientResponseException) e);
+            if (retryAfter != null) {
+                // no point waiting past our own deadline; surface the 429 instead
+                if (retryAfter.compareTo(overallTimeout) >= 0) return Mono.error(e);
+                limiter.pause(retryAfter);
+            }
+            return Mono.delay(backoff(signal.totalRetries()));
+        }));
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        return e instanceof WebClientResponseException w
+                && (w.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || w.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    /** Exponential backoff with jitter: a random delay in [base * 2^n / 2, base * 2^n]. */
+    private Duration backoff(long attempt) {
+        long ceiling = backoffMillis << Math.min(attempt, 10);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+    }
+
+    /** Retry-After as delta-seconds or an HTTP date; null when absent or unparseable. */
+    static Duration retryAfter(WebClientResponseException e) {
+        String value = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // fall through to the HTTP-date form
+        }
+        try {
+            Duration d = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return d.isNegative() ? Duration.ZERO : d;
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    public Map<String, Object> answerCacheStats() {
+        Map<String, Object> s = new LinkedHashMap<>(answers.stats());
+        s.put("inFlight", inFlight.size());
+        s.put("coalesced", coalesced.get());
+        return s;
+    }
+
+    public Map<String, Object> rateLimiterStats() {
+        return limiter.stats();
+    }
+
+    public BoundedTtlCache<String, String> answerCache() {
+        return answers;
+    }
+
+    public boolean isApiKeyConfigured() {
+        return apiKey != null && !apiKey.isEmpty() && !apiKey.equals("your-api-key-here");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String extractAnswer(Map<String, Object> geminiResponse) {
+        if (!geminiResponse.containsKey("candidates")) return null;
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) geminiResponse.get("candidates");
+        if (candidates == null || candidates.isEmpty()) return null;
+        Map<String, Object> responseContent = (Map<String, Object>) candidates.get(0).get("content");
+        if (responseContent == null) return null;
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) responseContent.get("parts");
+        if (parts == null || parts.isEmpty()) return null;
+        String answer = (String) parts.get(0).get("text");
+        return answer == null ? null : answer.trim();
+    }
+}
@@ -0,0 +1,108 @@
+package com.spendwise.SpendWise.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side token bucket in front of the Gemini API. Tokens refill at
+ * {@code gemini.rate-limit.rpm} per minute up to {@code gemini.rate-limit.burst}; callers
+ * that find the bucket empty reserve a future token and wait for it without holding a thread.
+ * At most {@code gemini.rate-limit.queue-size} callers may wait; beyond that the call is shed
+ * with {@link QueueFullException}. An upstream Retry-After pauses the whole bucket.
+ */
+@Component
+public class GeminiRateLimiter {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final int maxQueued;
+
+    private double tokens;
+    private long refilledAt;
+    private long pausedUntil;
+
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+
+    public GeminiRateLimiter(@Value("${gemini.rate-limit.rpm:15}") int requestsPerMinute,
+                             @Value("${gemini.rate-limit.burst:5}") int burst,
+                             @Value("${gemini.rate-limit.queue-size:50}") int maxQueued) {
+        if (requestsPerMinute <= 0) throw new IllegalArgumentException("requestsPerMinute must be positive");
+        this.tokensPerNano = requestsPerMinute / 60_000_000_000.0;
+        this.burst = Math.max(1, burst);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Completes when the caller may send one request. Fails immediately with
+     * {@link QueueFullException} when too many callers are already waiting.
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            if (waitNanos < 0) {
+                shed.incrementAndGet();
+                return Mono.error(new QueueFullException());
+            }
+            granted.incrementAndGet();
+            if (waitNanos == 0) return Mono.empty();
+            delayed.incrementAndGet();
+            // a caller that gives up while queued hands its reserved token back
+            return Mono.delay(Duration.ofNanos(waitNanos)).then().doOnCancel(this::release);
+        });
+    }
+
+    /** Stops granting tokens until {@code retryAfter} has elapsed (Retry-After from upstream). */
+    public synchronized void pause(Duration retryAfter) {
+        long until = System.nanoTime() + retryAfter.toNanos();
+        if (until - pausedUntil > 0) pausedUntil = until;
+    }
+
+    /** Nanoseconds the caller must wait for its token, or -1 when the wait queue is full. */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        // tokens below zero are reservations already handed to waiting callers
+        if (tokens < 1 && -Math.floor(tokens) >= maxQueued) return -1;
+        tokens -= 1;
+        long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        long paused = pausedUntil - now;
+        return Math.max(wait, Math.max(paused, 0));
+    }
+
+    private synchronized void release() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        refill(System.nanoTime());
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("availableTokens", Math.max(0, Math.floor(tokens)));
+        s.put("queued", (long) Math.max(0, -Math.floor(tokens)));
+        s.put("maxQueued", maxQueued);
+        s.put("granted", granted.get());
+        s.put("delayed", delayed.get());
+        s.put("shed", shed.get());
+        return s;
+    }
+
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException() {
+            super("Too many AI requests are already waiting");
+        }
+    }
+}
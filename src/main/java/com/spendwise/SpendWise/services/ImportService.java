@@ -0,0 +1,254 @@
+package com.spendwise.SpendWise.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.model.Income;
+import com.spendwise.SpendWise.model.Investment;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk transaction import. The body is read line by line (CSV with a header row, or NDJSON),
+ * each row is validated on its own, and valid rows are written in chunks that commit
+ * independently. A failing row never aborts the import; it is reported with its line number.
+ */
+@Service
+public class ImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 500;
+
+    private final FinanceService financeService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ImportService(FinanceService financeService, ObjectMapper objectMapper,
+                         @Value("${import.chunk-size:500}") int chunkSize) {
+        this.financeService = financeService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /** {@code format} is "csv" or "ndjson". */
+    public Map<String, Object> importRecords(Long ownerId, String format, InputStream body) throws IOException {
+        boolean ndjson = "ndjson".equals(format);
+        Report report = new Report();
+        Chunk chunk = new Chunk();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = null;
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            if (!ndjson && columns == null) {
+                columns = readHeader(line);
+                if (!columns.containsKey("type") || !columns.containsKey("amount")) {
+                    report.error(lineNo, "CSV header must contain at least Type and Amount columns");
+                    break;
+                }
+                continue;
+            }
+
+            report.processed++;
+            try {
+                Row row = ndjson ? parseJson(line) : parseCsv(line, columns);
+                chunk.add(ownerId, row, lineNo);
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                report.error(lineNo, ex.getMessage());
+            }
+            if (chunk.size() >= chunkSize) flush(chunk, report);
+        }
+        flush(chunk, report);
+        return report.toMap();
+    }
+
+    private void flush(Chunk chunk, Report report) {
+        if (chunk.size() == 0) return;
+        try {
+            financeService.saveChunk(chunk.incomes, chunk.expenses, chunk.investments);
+            report.imported += chunk.size();
+            report.chunks++;
+        } catch (RuntimeException ex) {
+            for (long l : chunk.lines) report.error(l, "Chunk rejected by database: " + rootMessage(ex));
+        }
+        chunk.reset();
+    }
+
+    private Row parseJson(String line) {
+        JsonNode n;
+        try {
+            n = objectMapper.readTree(line);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Invalid JSON");
+        }
+        if (n == null || !n.isObject()) throw new IllegalArgumentException("Expected a JSON object");
+        return validate(text(n, "type"), text(n, "date"), text(n, "description"), text(n, "amount"), text(n, "category"));
+    }
+
+    private static String text(JsonNode n, String field) {
+        JsonNode v = n.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+
+    private Row parseCsv(String line, Map<String, Integer> columns) {
+        List<String> cells = splitCsv(line);
+        return validate(cell(cells, columns, "type"), cell(cells, columns, "date"), cell(cells, columns, "description"),
+                cell(cells, columns, "amount"), cell(cells, columns, "category"));
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String name) {
+        Integer idx = columns.get(name);
+        if (idx == null || idx >= cells.size()) return null;
+        String v = cells.get(idx).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static Row validate(String type, String date, String description, String amount, String category) {
+        if (type == null) throw new IllegalArgumentException("Missing type");
+        String t = type.trim().toLowerCase();
+        if (!ExportService.ALL_TYPES.contains(t)) throw new IllegalArgumentException("Unknown type: " + type);
+        if (amount == null) throw new IllegalArgumentException("Missing amount");
+        long cents;
+        try {
+            cents = MoneyAmountUtil.parseCentsExact(amount);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        LocalDate d = date == null ? LocalDate.now() : LocalDate.parse(date.trim());
+        return new Row(t, d, description, cents, category == null ? "Other" : category);
+    }
+
+    private static Map<String, Integer> readHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        return columns;
+    }
+
+    /** Splits one CSV record; quoted cells may contain commas and doubled quotes. */
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+        cells.add(cur.toString());
+        return cells;
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable t = ex;
+        while (t.getCause() != null) t = t.getCause();
+        return t.getMessage();
+    }
+
+    private record Row(String type, LocalDate date, String description, long amountCents, String category) {
+    }
+
+    private static final class Chunk {
+        final List<Income> incomes = new ArrayList<>();
+        final List<Expense> expenses = new ArrayList<>();
+        final List<Investment> investments = new ArrayList<>();
+        final List<Long> lines = new ArrayList<>();
+
+        void add(Long ownerId, Row r, long lineNo) {
+            switch (r.type()) {
+                case "income" -> {
+                    Income i = new Income(ownerId, null, r.description(), r.date());
+                    i.setAmountCents(r.amountCents());
+                    incomes.add(i);
+                }
+                case "expense" -> {
+                    Expense e = new Expense(ownerId, null, r.description(), r.date(), r.category());
+                    e.setAmountCents(r.amountCents());
+                    expenses.add(e);
+                }
+                default -> {
+                    Investment iv = new Investment(ownerId, null, r.description(), r.date());
+                    iv.setAmountCents(r.amountCents());
+                    investments.add(iv);
+                }
+            }
+            lines.add(lineNo);
+        }
+
+        int size() {
+            return lines.size();
+        }
+
+        void reset() {
+            incomes.clear();
+            expenses.clear();
+            investments.clear();
+            lines.clear();
+        }
+    }
+
+    private static final class Report {
+        long processed;
+        long imported;
+        long chunks;
+        long failed;
+        final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> e = new LinkedHashMap<>();
+                e.put("line", line);
+                e.put("error", message);
+                errors.add(e);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("processed", processed);
+            m.put("imported", imported);
+            m.put("failed", failed);
+            m.put("chunks", chunks);
+            m.put("errors", errors);
+            m.put("errorsTruncated", failed > errors.size());
+            return m;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.config.QueryCountInspector;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only repository calls of one request concurrently on virtual threads.
+ * A {@link Scope} follows StructuredTaskScope.ShutdownOnFailure semantics (preview in Java 21):
+ * subtasks are forked, {@link Scope#join()} waits for all of them, the first failure cancels
+ * the siblings, and closing the scope cancels anything still running. A global semaphore caps
+ * how many forked queries may hold a pooled connection at once ({@code db.fanout.max-concurrency}).
+ */
+@Service
+public class ParallelQueryExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    public ParallelQueryExecutor(@Value("${db.fanout.max-concurrency:4}") int maxConcurrency,
+                                 @Value("${db.fanout.timeout-ms:10000}") long timeoutMillis) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrency), true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<Future<?>> futures = new ArrayList<>();
+        private final List<CountDownLatch> done = new ArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Scope() {
+        }
+
+        /** Starts {@code task}; its result is available from the returned supplier after {@link #join()}. */
+        public <T> Supplier<T> fork(Callable<T> task) {
+            CountDownLatch latch = new CountDownLatch(1);
+            // the result is published before the latch opens; Future.resultNow would race with it
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Callable<T> counted = QueryCountInspector.propagate(task);
+            Future<T> f = executor.submit(() -> {
+                try {
+                    permits.acquire();
+                    try {
+                        T value = counted.call();
+                        result.complete(value);
+                        return value;
+                    } finally {
+                        permits.release();
+                    }
+                } catch (Throwable t) {
+                    if (failure.compareAndSet(null, t)) cancelAll();
+                    throw t;
+                } finally {
+                    latch.countDown();
+                }
+            });
+            synchronized (this) {
+                futures.add(f);
+                done.add(latch);
+            }
+            return result::resultNow;
+        }
+
+        /**
+         * Waits for every forked subtask. Rethrows the first failure (unchecked as-is, checked
+         * wrapped in IllegalStateException) after cancelling the remaining subtasks.
+         */
+        public void join() throws InterruptedException, TimeoutException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            List<CountDownLatch> latches;
+            synchronized (this) {
+                latches = List.copyOf(done);
+            }
+            try {
+                for (CountDownLatch latch : latches) {
+                    if (failure.get() != null) break;
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !latch.await(remaining, TimeUnit.NANOSECONDS)) {
+                        throw new TimeoutException("Parallel queries did not finish within " + timeoutMillis + "ms");
+                    }
+                }
+            } catch (InterruptedException | TimeoutException e) {
+                cancelAll();
+                throw e;
+            }
+            Throwable t = failure.get();
+            if (t instanceof RuntimeException re) throw re;
+            if (t instanceof Error err) throw err;
+            if (t != null) throw new IllegalStateException(t);
+        }
+
+        private synchronized void cancelAll() {
+            for (Future<?> f : futures) f.cancel(true);
+            // a subtask cancelled before it started never counts down on its own
+            for (CountDownLatch latch : done) latch.countDown();
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+    }
+}
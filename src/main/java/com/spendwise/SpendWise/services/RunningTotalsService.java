@@ -0,0 +1,142 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.model.UserTotals;
+import com.spendwise.SpendWise.repository.UserTotalsRepository;
+import com.spendwise.SpendWise.util.MoneyAmountUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code user_totals} in step with incomes, expenses, investments and member incomes so the
+ * health score is a primary-key lookup. Writers apply deltas with {@code adjust*} <em>before</em>
+ * persisting the row they change: a user's totals row is seeded from the raw tables the first time
+ * it is touched, and that seed must not already contain the pending write.
+ * {@link #findDrifted()} / {@link #rebuild(Long)} detect and repair drift (see RunningTotalsReconciler).
+ */
+@Service
+public class RunningTotalsService {
+
+    private static final String ADJUST =
+            "update user_totals set income_cents = income_cents + ?, member_income_cents = member_income_cents + ?, " +
+            "expense_cents = expense_cents + ?, investment_cents = investment_cents + ? where owner_id = ?";
+
+    // profiles still hold monthly_income as a double; each value is rounded to cents like adjustMemberIncome does
+    private static final String MEMBER_CENTS =
+            "(select cast(coalesce(sum(round(cast(monthly_income as numeric) * 100)), 0) as bigint) from user_profiles where owner_id = %s)";
+
+    // hot rows plus the monthly totals kept for rows moved to the cold tier (ColdTierService)
+    private static final String TIERED_CENTS =
+            "((select coalesce(sum(amount_cents), 0) from %2$s where owner_id = %1$s) + " +
+            "(select coalesce(sum(total_cents), 0) from cold_monthly_totals where owner_id = %1$s and kind = '%3$s'))";
+
+    private static final String FRESH =
+            "select ?, " +
+            TIERED_CENTS.formatted("?", "incomes", "income") + ", " +
+            MEMBER_CENTS.formatted("?") + ", " +
+            TIERED_CENTS.formatted("?", "expenses", "expense") + ", " +
+            "(select coalesce(sum(amount_cents), 0) from investments where owner_id = ?)";
+
+    private static final String SEED =
+            "insert into user_totals (owner_id, income_cents, member_income_cents, expense_cents, investment_cents) " +
+            FRESH + " on conflict (owner_id) do nothing";
+
+    private static final String REPAIR =
+            "update user_totals set " +
+            "income_cents = " + TIERED_CENTS.formatted("?", "incomes", "income") + ", " +
+            "member_income_cents = " + MEMBER_CENTS.formatted("?") + ", " +
+            "expense_cents = " + TIERED_CENTS.formatted("?", "expenses", "expense") + ", " +
+            "investment_cents = (select coalesce(sum(amount_cents), 0) from investments where owner_id = ?) " +
+            "where owner_id = ?";
+
+    // integer cents: any difference at all is drift
+    private static final String DRIFTED =
+            "select t.owner_id from user_totals t where " +
+            "t.income_cents <> " + TIERED_CENTS.formatted("t.owner_id", "incomes", "income") + " or " +
+            "t.member_income_cents <> " + MEMBER_CENTS.formatted("t.owner_id") + " or " +
+            "t.expense_cents <> " + TIERED_CENTS.formatted("t.owner_id", "expenses", "expense") + " or " +
+            "t.investment_cents <> (select coalesce(sum(amount_cents), 0) from investments where owner_id = t.owner_id)";
+
+    private final JdbcTemplate jdbc;
+    private final UserTotalsRepository repo;
+
+    public RunningTotalsService(JdbcTemplate jdbc, UserTotalsRepository repo) {
+        this.jdbc = jdbc;
+        this.repo = repo;
+    }
+
+    public void adjustIncome(Long ownerId, long deltaCents) {
+        adjust(ownerId, deltaCents, 0, 0, 0);
+    }
+
+    /** Member incomes are still {@code Double} on the profile; each side is rounded to cents before the difference. */
+    public void adjustMemberIncome(Long ownerId, Double previous, Double current) {
+        adjust(ownerId, 0, MoneyAmountUtil.toCents(current) - MoneyAmountUtil.toCents(previous), 0, 0);
+    }
+
+    public void adjustExpense(Long ownerId, long deltaCents) {
+        adjust(ownerId, 0, 0, deltaCents, 0);
+    }
+
+    public void adjustInvestment(Long ownerId, long deltaCents) {
+        adjust(ownerId, 0, 0, 0, deltaCents);
+    }
+
+    /** Adds not-yet-persisted expenses (split expenses), one statement per owner. */
+    public void addExpenses(List<Expense> pending) {
+        Map<Long, Long> byOwner = new HashMap<>();
+        for (Expense e : pending) {
+            if (e.getOwnerId() != null) byOwner.merge(e.getOwnerId(), e.getAmountCents(), Long::sum);
+        }
+        byOwner.forEach(this::adjustExpense);
+    }
+
+    public void adjust(Long ownerId, long income, long memberIncome, long expense, long investment) {
+        if (ownerId == null) return;
+        if (income == 0 && memberIncome == 0 && expense == 0 && investment == 0) return;
+        if (jdbc.update(ADJUST, income, memberIncome, expense, investment, ownerId) == 0) {
+            seed(ownerId);
+            jdbc.update(ADJUST, income, memberIncome, expense, investment, ownerId);
+        }
+    }
+
+    /** Current totals, seeding the row from the raw tables on first use. */
+    @Transactional
+    public UserTotals totals(Long ownerId) {
+        UserTotals t = repo.findById(ownerId).orElse(null);
+        if (t != null) return t;
+        seed(ownerId);
+        return repo.findById(ownerId).orElseThrow();
+    }
+
+    public void forget(Long ownerId) {
+        jdbc.update("delete from user_totals where owner_id = ?", ownerId);
+    }
+
+    /** Owners whose stored totals disagree with the raw tables. */
+    @Transactional(readOnly = true)
+    public List<Long> findDrifted() {
+        return jdbc.queryForList(DRIFTED, Long.class);
+    }
+
+    /**
+     * Recomputes one user's totals. The row lock makes concurrent writers either finish first
+     * (their rows are then visible here) or wait and apply their delta on top of the result.
+     */
+    @Transactional
+    public void rebuild(Long ownerId) {
+        seed(ownerId);
+        jdbc.queryForList("select owner_id from user_totals where owner_id = ? for update", Long.class, ownerId);
+        jdbc.update(REPAIR, Collections.nCopies(7, ownerId).toArray());
+    }
+
+    private void seed(Long ownerId) {
+        jdbc.update(SEED, Collections.nCopies(7, ownerId).toArray());
+    }
+}
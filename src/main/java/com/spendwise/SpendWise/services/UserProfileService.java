@@ -0,0 +1,56 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.repository.UserProfileRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Profile writes. A member's monthly income is part of the group owner's running totals, so the
+ * totals adjustment commits or rolls back together with the profile row it describes.
+ */
+@Service
+public class UserProfileService {
+
+    private final UserProfileRepository repo;
+    private final RunningTotalsService totals;
+    private final AuthService auth;
+    private final DataVersionService versions;
+
+    public UserProfileService(UserProfileRepository repo, RunningTotalsService totals, AuthService auth, DataVersionService versions) {
+        this.repo = repo;
+        this.totals = totals;
+        this.auth = auth;
+        this.versions = versions;
+    }
+
+    @Transactional
+    public UserProfile createMember(Long groupOwnerId, UserProfile member) {
+        member.setOwnerId(groupOwnerId);
+        totals.adjustMemberIncome(groupOwnerId, null, member.getMonthlyIncome());
+        UserProfile saved = repo.save(member);
+        versions.bump(groupOwnerId);
+        return saved;
+    }
+
+    /** Saves changes already applied to {@code user}; {@code previousIncome} is its income before them. */
+    @Transactional
+    public UserProfile update(UserProfile user, Double previousIncome) {
+        totals.adjustMemberIncome(user.getOwnerId(), previousIncome, user.getMonthlyIncome());
+        UserProfile saved = repo.save(user);
+        auth.evictPrincipal(saved.getId());
+        versions.bump(saved.getId(), saved.getOwnerId());
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        UserProfile user = repo.findById(id).orElse(null);
+        if (user == null) return;
+        totals.adjustMemberIncome(user.getOwnerId(), user.getMonthlyIncome(), null);
+        repo.delete(user);
+        totals.forget(id);
+        auth.evictPrincipal(id);
+        versions.bump(id, user.getOwnerId());
+    }
+}
@@ -0,0 +1,586 @@
+package com.spendwise.SpendWise.util;
+
+import com.spendwise.SpendWise.model.Budget;
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.model.Goal;
+import com.spendwise.SpendWise.model.Income;
+import com.spendwise.SpendWise.model.Investment;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary per-user archive used for backup, restore and account migration.
+ * <p>
+ * Layout: magic {@code "SWAR"}, format version (u16), source owner id (i64), then blocks and a
+ * terminating {@code 0} byte. A block is {@code kind (u8), rows, rawLength, compressedLength}
+ * (unsigned varints) followed by the zlib-deflated payload. The payload is columnar: each column
+ * of the block's rows is written in turn. Ids and dates (epoch day) are delta-encoded, amounts are
+ * cents, all as zigzag varints; low-cardinality strings (category, period, status, type) are
+ * dictionary-encoded per block. Nullable columns carry a presence bitmap only when a null occurs.
+ * Owner ids are not stored per row; every row belongs to the source owner.
+ */
+public final class ArchiveCodec {
+
+    public static final int VERSION = 1;
+    /** Rows per block; writers should split larger lists. */
+    public static final int BLOCK_ROWS = 4096;
+
+    public static final int INCOMES = 1;
+    public static final int EXPENSES = 2;
+    public static final int INVESTMENTS = 3;
+    public static final int BUDGETS = 4;
+    public static final int GOALS = 5;
+    public static final int DEBTS = 6;
+
+    private static final int MAGIC = 0x53574152; // "SWAR"
+    private static final int END = 0;
+    private static final int MAX_RAW_BLOCK = 64 * 1024 * 1024;
+
+    private ArchiveCodec() {
+    }
+
+    /** Receives decoded blocks in archive order. */
+    public interface Sink {
+        default void incomes(List<Income> rows) { }
+        default void expenses(List<Expense> rows) { }
+        default void investments(List<Investment> rows) { }
+        default void budgets(List<Budget> rows) { }
+        default void goals(List<Goal> rows) { }
+        default void debts(List<Debt> rows) { }
+    }
+
+    /** Sequential writer; call {@link #finish()} once after the last block. */
+    public static final class Writer {
+        private final DataOutputStream out;
+        private final Buf raw = new Buf(64 * 1024);
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private byte[] packed = new byte[64 * 1024];
+
+        public Writer(OutputStream out, long sourceOwnerId) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.writeInt(MAGIC);
+            this.out.writeShort(VERSION);
+            this.out.writeLong(sourceOwnerId);
+        }
+
+        public void incomes(List<Income> rows) throws IOException {
+            if (rows.isEmpty()) return;
+            raw.reset();
+            nullableLongs(raw, rows, Income::getId, true);
+            dates(raw, rows, Income::getDate);
+            longs(raw, rows, Income::getAmountCents);
+            strings(raw, rows, Income::getDescription);
+            block(INCOMES, rows.size());
+        }
+
+        public void expenses(List<Expense> rows) throws IOException {
+            if (rows.isEmpty()) return;
+            raw.reset();
+            nullableLongs(raw, rows, Expense::getId, true);
+            dates(raw, rows, Expense::getDate);
+            longs(raw, rows, Expense::getAmountCents);
+            strings(raw, rows, Expense::getDescription);
+            dictionary(raw, rows, Expense::getCategory);
+            block(EXPENSES, rows.size());
+        }
+
+        public void investments(List<Investment> rows) throws IOException {
+            if (rows.isEmpty()) return;
+            raw.reset();
+            nullableLongs(raw, rows, Investment::getId, true);
+            dates(raw, rows, Investment::getDate);
+            longs(raw, rows, Investment::getAmountCents);
+            strings(raw, rows, Investment::getDescription);
+            block(INVESTMENTS, rows.size());
+        }
+
+        public void budgets(List<Budget> rows) throws IOException {
+            if (rows.isEmpty()) return;
+            raw.reset();
+            nullableLongs(raw, rows, Budget::getId, true);
+            dictionary(raw, rows, Budget::getCategory);
+            longs(raw, rows, Budget::getLimitAmountCents);
+            dictionary(raw, rows, Budget::getPeriod);
+            nullableLongs(raw, rows, b -> b.getMonth() == null ? null : (long) b.getMonth(), false);
+            nullableLongs(raw, rows, b -> b.getYear() == null ? null : (long) b.getYear(), true);
+            block(BUDGETS, rows.size());
+        }
+
+        public void goals(List<Goal> rows) throws IOException {
+            if (rows.isEmpty()) return;
+            raw.reset();
+            nullableLongs(raw, rows, Goal::getId, true);
+            strings(raw, rows, Goal::getName);
+            longs(raw, rows, Goal::getTargetAmountCents);
+            longs(raw, rows, Goal::getCurrentAmountCents);
+            dates(raw, rows, Goal::getTargetDate);
+            dictionary(raw, rows, Goal::getStatus);
+            dictionary(raw, rows, Goal::getType);
+            block(GOALS, rows.size());
+        }
+
+        public void debts(List<Debt> rows) throws IOException {
+            if (rows.isEmpty()) return;
+            raw.reset();
+            nullableLongs(raw, rows, Debt::getId, true);
+            nullableLongs(raw, rows, Debt::getFromUserId, false);
+            nullableLongs(raw, rows, Debt::getToUserId, false);
+            longs(raw, rows, Debt::getAmountCents);
+            strings(raw, rows, Debt::getDescription);
+            dates(raw, rows, Debt::getDate);
+            dictionary(raw, rows, Debt::getStatus);
+            nullableLongs(raw, rows, Debt::getRelatedExpenseId, false);
+            block(DEBTS, rows.size());
+        }
+
+        public void finish() throws IOException {
+            out.writeByte(END);
+            out.flush();
+            deflater.end();
+        }
+
+        private void block(int kind, int rows) throws IOException {
+            deflater.reset();
+            deflater.setInput(raw.bytes, 0, raw.size);
+            deflater.finish();
+            int packedSize = 0;
+            while (!deflater.finished()) {
+                if (packedSize == packed.length) packed = Arrays.copyOf(packed, packed.length * 2);
+                packedSize += deflater.deflate(packed, packedSize, packed.length - packedSize);
+            }
+            out.writeByte(kind);
+            writeVarint(out, rows);
+            writeVarint(out, raw.size);
+            writeVarint(out, packedSize);
+            out.write(packed, 0, packedSize);
+        }
+    }
+
+    /**
+     * Reads an archive from a buffer (typically a memory-mapped file); block payloads are
+     * inflated straight from the buffer. Malformed input is reported as IllegalArgumentException.
+     */
+    public static final class Reader {
+        private final ByteBuffer in;
+        private final long sourceOwnerId;
+
+        public Reader(ByteBuffer in) {
+            this.in = in;
+            try {
+                if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not a SpendWise archive");
+                int version = in.getShort() & 0xFFFF;
+                if (version != VERSION) throw new IllegalArgumentException("Unsupported archive version " + version);
+                this.sourceOwnerId = in.getLong();
+            } catch (BufferUnderflowException ex) {
+                throw new IllegalArgumentException("Truncated archive");
+            }
+        }
+
+        public long sourceOwnerId() {
+            return sourceOwnerId;
+        }
+
+        public void readAll(Sink sink) {
+            Inflater inflater = new Inflater();
+            byte[] raw = new byte[64 * 1024];
+            try {
+                int kind;
+                while ((kind = in.get() & 0xFF) != END) {
+                    int rows = readVarintInt(in);
+                    int rawSize = readVarintInt(in);
+                    int packedSize = readVarintInt(in);
+                    if (rows > BLOCK_ROWS * 16 || rawSize > MAX_RAW_BLOCK || packedSize > in.remaining()) {
+                        throw new IllegalArgumentException("Corrupt block header");
+                    }
+                    if (raw.length < rawSize) raw = new byte[Math.max(rawSize, raw.length * 2)];
+
+                    inflater.reset();
+                    inflater.setInput(in.slice(in.position(), packedSize));
+                    int n = 0;
+                    while (n < rawSize && !inflater.finished()) {
+                        int got = inflater.inflate(raw, n, rawSize - n);
+                        if (got == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                        n += got;
+                    }
+                    if (n != rawSize || !inflater.finished()) throw new IllegalArgumentException("Corrupt block payload");
+                    in.position(in.position() + packedSize);
+
+                    decode(kind, rows, new Cursor(raw, rawSize), sink);
+                }
+            } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+                throw new IllegalArgumentException("Truncated archive");
+            } catch (DataFormatException ex) {
+                throw new IllegalArgumentException("Corrupt block payload");
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private static void decode(int kind, int n, Cursor c, Sink sink) {
+            switch (kind) {
+                case INCOMES -> {
+                    Long[] ids = c.nullableLongs(n, true);
+                    LocalDate[] dates = c.dates(n);
+                    long[] amounts = c.longs(n);
+                    String[] descriptions = c.strings(n);
+                    List<Income> rows = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        Income r = new Income();
+                        r.setId(ids[i]);
+                        r.setDate(dates[i]);
+                        r.setAmountCents(amounts[i]);
+                        r.setDescription(descriptions[i]);
+                        rows.add(r);
+                    }
+                    sink.incomes(rows);
+                }
+                case EXPENSES -> {
+                    Long[] ids = c.nullableLongs(n, true);
+                    LocalDate[] dates = c.dates(n);
+                    long[] amounts = c.longs(n);
+                    String[] descriptions = c.strings(n);
+                    String[] categories = c.dictionary(n);
+                    List<Expense> rows = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        Expense r = new Expense();
+                        r.setId(ids[i]);
+                        r.setDate(dates[i]);
+                        r.setAmountCents(amounts[i]);
+                        r.setDescription(descriptions[i]);
+                        r.setCategory(categories[i]);
+                        rows.add(r);
+                    }
+                    sink.expenses(rows);
+                }
+                case INVESTMENTS -> {
+                    Long[] ids = c.nullableLongs(n, true);
+                    LocalDate[] dates = c.dates(n);
+                    long[] amounts = c.longs(n);
+                    String[] descriptions = c.strings(n);
+                    List<Investment> rows = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        Investment r = new Investment();
+                        r.setId(ids[i]);
+                        r.setDate(dates[i]);
+                        r.setAmountCents(amounts[i]);
+                        r.setDescription(descriptions[i]);
+                        rows.add(r);
+                    }
+                    sink.investments(rows);
+                }
+                case BUDGETS -> {
+                    Long[] ids = c.nullableLongs(n, true);
+                    String[] categories = c.dictionary(n);
+                    long[] limits = c.longs(n);
+                    String[] periods = c.dictionary(n);
+                    Long[] months = c.nullableLongs(n, false);
+                    Long[] years = c.nullableLongs(n, true);
+                    List<Budget> rows = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        Budget r = new Budget();
+                        r.setId(ids[i]);
+                        r.setCategory(categories[i]);
+                        r.setLimitAmountCents(limits[i]);
+                        r.setPeriod(periods[i]);
+                        r.setMonth(months[i] == null ? null : Math.toIntExact(months[i]));
+                        r.setYear(years[i] == null ? null : Math.toIntExact(years[i]));
+                        rows.add(r);
+                    }
+                    sink.budgets(rows);
+                }
+                case GOALS -> {
+                    Long[] ids = c.nullableLongs(n, true);
+                    String[] names = c.strings(n);
+                    long[] targets = c.longs(n);
+                    long[] currents = c.longs(n);
+                    LocalDate[] targetDates = c.dates(n);
+                    String[] statuses = c.dictionary(n);
+                    String[] types = c.dictionary(n);
+                    List<Goal> rows = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        Goal r = new Goal();
+                        r.setId(ids[i]);
+                        r.setName(names[i]);
+                        r.setTargetAmountCents(targets[i]);
+                        r.setCurrentAmountCents(currents[i]);
+                        r.setTargetDate(targetDates[i]);
+                        r.setStatus(statuses[i]);
+                        r.setType(types[i]);
+                        rows.add(r);
+                    }
+                    sink.goals(rows);
+                }
+                case DEBTS -> {
+                    Long[] ids = c.nullableLongs(n, true);
+                    Long[] from = c.nullableLongs(n, false);
+                    Long[] to = c.nullableLongs(n, false);
+                    long[] amounts = c.longs(n);
+                    String[] descriptions = c.strings(n);
+                    LocalDate[] dates = c.dates(n);
+                    String[] statuses = c.dictionary(n);
+                    Long[] related = c.nullableLongs(n, false);
+                    List<Debt> rows = new ArrayList<>(n);
+                    for (int i = 0; i < n; i++) {
+                        Debt r = new Debt();
+                        r.setId(ids[i]);
+                        r.setFromUserId(from[i]);
+                        r.setToUserId(to[i]);
+                        r.setAmountCents(amounts[i]);
+                        r.setDescription(descriptions[i]);
+                        r.setDate(dates[i]);
+                        r.setStatus(statuses[i]);
+                        r.setRelatedExpenseId(related[i]);
+                        rows.add(r);
+                    }
+                    sink.debts(rows);
+                }
+                default -> throw new IllegalArgumentException("Unknown block kind " + kind);
+            }
+            if (c.pos != c.limit) throw new IllegalArgumentException("Corrupt block payload");
+        }
+    }
+
+    // ---- column encoders ----
+
+    private static <T> void longs(Buf b, List<T> rows, ToLongFunction<T> f) {
+        for (T r : rows) b.zigzag(f.applyAsLong(r));
+    }
+
+    private static <T> void dates(Buf b, List<T> rows, Function<T, LocalDate> f) {
+        nullableLongs(b, rows, r -> {
+            LocalDate d = f.apply(r);
+            return d == null ? null : d.toEpochDay();
+        }, true);
+    }
+
+    /** Flag byte (1 = presence bitmap follows), then the present values, optionally as deltas. */
+    private static <T> void nullableLongs(Buf b, List<T> rows, Function<T, Long> f, boolean delta) {
+        int n = rows.size();
+        Long[] values = new Long[n];
+        boolean anyNull = false;
+        for (int i = 0; i < n; i++) {
+            values[i] = f.apply(rows.get(i));
+            anyNull |= values[i] == null;
+        }
+        b.put(anyNull ? 1 : 0);
+        if (anyNull) {
+            for (int i = 0; i < n; i += 8) {
+                int bits = 0;
+                for (int j = i; j < Math.min(n, i + 8); j++) {
+                    if (values[j] != null) bits |= 1 << (j - i);
+                }
+                b.put(bits);
+            }
+        }
+        long prev = 0;
+        for (Long v : values) {
+            if (v == null) continue;
+            b.zigzag(delta ? v - prev : v);
+            prev = v;
+        }
+    }
+
+    /** Lengths first (0 = null, else UTF-8 length + 1), then the concatenated bytes. */
+    private static <T> void strings(Buf b, List<T> rows, Function<T, String> f) {
+        byte[][] encoded = new byte[rows.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            String s = f.apply(rows.get(i));
+            encoded[i] = s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+            b.varint(s == null ? 0 : encoded[i].length + 1L);
+        }
+        for (byte[] e : encoded) {
+            if (e != null) b.put(e);
+        }
+    }
+
+    /** Distinct values in first-seen order, then one index per row (0 = null). */
+    private static <T> void dictionary(Buf b, List<T> rows, Function<T, String> f) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] refs = new int[rows.size()];
+        for (int i = 0; i < refs.length; i++) {
+            String s = f.apply(rows.get(i));
+            if (s == null) continue;
+            Integer k = index.get(s);
+            if (k == null) {
+                k = entries.size() + 1;
+                index.put(s, k);
+                entries.add(s);
+            }
+            refs[i] = k;
+        }
+        b.varint(entries.size());
+        strings(b, entries, s -> s);
+        for (int ref : refs) b.varint(ref);
+    }
+
+    private static void writeVarint(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static int readVarintInt(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (v > Integer.MAX_VALUE) break;
+                return (int) v;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt block header");
+    }
+
+    /** Growable byte buffer for one block's uncompressed payload. */
+    private static final class Buf {
+        byte[] bytes;
+        int size;
+
+        Buf(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void put(int b) {
+            if (size == bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            bytes[size++] = (byte) b;
+        }
+
+        void put(byte[] src) {
+            if (size + src.length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + src.length));
+            System.arraycopy(src, 0, bytes, size, src.length);
+            size += src.length;
+        }
+
+        void varint(long v) {
+            while ((v & ~0x7FL) != 0) {
+                put((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            put((int) v);
+        }
+
+        void zigzag(long v) {
+            varint((v << 1) ^ (v >> 63));
+        }
+    }
+
+    /** Decoding position within one inflated payload. */
+    private static final class Cursor {
+        final byte[] bytes;
+        final int limit;
+        int pos;
+
+        Cursor(byte[] bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        int get() {
+            if (pos >= limit) throw new IllegalArgumentException("Corrupt block payload");
+            return bytes[pos++] & 0xFF;
+        }
+
+        long varint() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = get();
+                v |= (long) (b & 0x7F) << shift;
+                if (b < 0x80) return v;
+            }
+            throw new IllegalArgumentException("Corrupt block payload");
+        }
+
+        long zigzag() {
+            long v = varint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        long[] longs(int n) {
+            long[] values = new long[n];
+            for (int i = 0; i < n; i++) values[i] = zigzag();
+            return values;
+        }
+
+        Long[] nullableLongs(int n, boolean delta) {
+            Long[] values = new Long[n];
+            boolean[] present = new boolean[n];
+            if (get() == 1) {
+                for (int i = 0; i < n; i += 8) {
+                    int bits = get();
+                    for (int j = i; j < Math.min(n, i + 8); j++) present[j] = (bits & (1 << (j - i))) != 0;
+                }
+            } else {
+                Arrays.fill(present, true);
+            }
+            long prev = 0;
+            for (int i = 0; i < n; i++) {
+                if (!present[i]) continue;
+                long v = delta ? prev + zigzag() : zigzag();
+                values[i] = v;
+                prev = v;
+            }
+            return values;
+        }
+
+        LocalDate[] dates(int n) {
+            Long[] days = nullableLongs(n, true);
+            LocalDate[] values = new LocalDate[n];
+            for (int i = 0; i < n; i++) {
+                if (days[i] != null) values[i] = LocalDate.ofEpochDay(days[i]);
+            }
+            return values;
+        }
+
+        String[] strings(int n) {
+            long[] lengths = new long[n];
+            for (int i = 0; i < n; i++) lengths[i] = varint();
+            String[] values = new String[n];
+            for (int i = 0; i < n; i++) {
+                if (lengths[i] == 0) continue;
+                long len = lengths[i] - 1;
+                if (len > limit - pos) throw new IllegalArgumentException("Corrupt block payload");
+                values[i] = new String(bytes, pos, (int) len, StandardCharsets.UTF_8);
+                pos += (int) len;
+            }
+            return values;
+        }
+
+        String[] dictionary(int n) {
+            long size = varint();
+            if (size > limit - pos) throw new IllegalArgumentException("Corrupt block payload");
+            String[] entries = strings((int) size);
+            String[] values = new String[n];
+            for (int i = 0; i < n; i++) {
+                long ref = varint();
+                if (ref > entries.length) throw new IllegalArgumentException("Corrupt block payload");
+                if (ref > 0) values[i] = entries[(int) ref - 1];
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.spendwise.SpendWise.util;
+
+import java.time.LocalDate;
+
+/**
+ * Builds rows for the transaction CSV export ({@code Type,Date,Description,Amount,Category}).
+ * Descriptions are always quoted with embedded quotes doubled; amounts are written from cents
+ * with exactly two decimals.
+ */
+public final class CsvExportUtil {
+
+    public static final String HEADER = "Type,Date,Description,Amount,Category\n";
+
+    private CsvExportUtil() {
+    }
+
+    public static StringBuilder appendRow(StringBuilder sb, String type, LocalDate date, String description, long amountCents, String category) {
+        sb.append(type).append(',');
+        if (date != null) sb.append(date);
+        sb.append(",\"");
+        if (description != null) appendEscaped(sb, description);
+        sb.append("\",");
+        appendCents(sb, amountCents);
+        sb.append(',');
+        if (category != null) sb.append(category);
+        return sb.append('\n');
+    }
+
+    private static void appendCents(StringBuilder sb, long cents) {
+        long abs = Math.abs(cents);
+        if (cents < 0) sb.append('-');
+        sb.append(abs / 100).append('.');
+        long fraction = abs % 100;
+        if (fraction < 10) sb.append('0');
+        sb.append(fraction);
+    }
+
+    private static void appendEscaped(StringBuilder sb, String s) {
+        if (s.indexOf('"') < 0) {
+            sb.append(s);
+            return;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') sb.append('"');
+            sb.append(c);
+        }
+    }
+}
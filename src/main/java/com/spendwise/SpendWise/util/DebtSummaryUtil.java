@@ -0,0 +1,42 @@
+package com.spendwise.SpendWise.util;
+
+import com.spendwise.SpendWise.repository.CounterpartyTotal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the /api/debts/summary body from pending debt sums already grouped by counterparty
+ * (see DebtRepository#sumPendingOwedByCounterparty), so the work scales with the number of
+ * counterparties rather than the number of debts.
+ */
+public final class DebtSummaryUtil {
+
+    private DebtSummaryUtil() {
+    }
+
+    public static Map<String, Object> summarize(List<CounterpartyTotal> owed, List<CounterpartyTotal> owedToYou) {
+        Map<Long, Double> owedByPerson = new HashMap<>();
+        long totalOwed = 0;
+        for (CounterpartyTotal t : owed) {
+            owedByPerson.put(t.getCounterpartyId(), MoneyAmountUtil.toDouble(t.getTotalCents()));
+            totalOwed += t.getTotalCents();
+        }
+
+        Map<Long, Double> owedToPerson = new HashMap<>();
+        long totalOwedToYou = 0;
+        for (CounterpartyTotal t : owedToYou) {
+            owedToPerson.put(t.getCounterpartyId(), MoneyAmountUtil.toDouble(t.getTotalCents()));
+            totalOwedToYou += t.getTotalCents();
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalOwed", MoneyAmountUtil.toDouble(totalOwed));
+        summary.put("totalOwedToYou", MoneyAmountUtil.toDouble(totalOwedToYou));
+        summary.put("netBalance", MoneyAmountUtil.toDouble(totalOwedToYou - totalOwed));
+        summary.put("owedByPerson", owedByPerson);
+        summary.put("owedToPerson", owedToPerson);
+        return summary;
+    }
+}
@@ -0,0 +1,225 @@
+package com.spendwise.SpendWise.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of accepted-but-uncommitted expenses (write-behind mode). Records are
+ * length + CRC32 framed and numbered by a caller-assigned, increasing sequence. {@link #sync}
+ * is a group fsync: a caller whose record was covered by another thread's force returns at once.
+ * Segments roll over at {@code segmentBytes}; {@link #release} drops everything up to the
+ * committed sequence. On open, a torn record at the end of the last segment is cut off;
+ * damage anywhere else fails the open rather than silently losing acknowledged data.
+ */
+public final class ExpenseJournal implements Closeable {
+
+    public record Entry(long seq, long ownerId, long amountCents, LocalDate date, String description, String category) {
+    }
+
+    private static final String PREFIX = "expenses-";
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER = 8;
+
+    private final Path dir;
+    private final long segmentBytes;
+    // rolled-over segments, oldest first, with the last sequence each one holds
+    private final Deque<Segment> closed = new ArrayDeque<>();
+    private final Object syncLock = new Object();
+
+    private Segment active;
+    private volatile long appendedSeq;
+    private long syncedSeq;
+
+    private ExpenseJournal(Path dir, long segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /** Opens (or creates) the journal in {@code dir}, passing every intact record to {@code replay} in order. */
+    public static ExpenseJournal open(Path dir, long segmentBytes, Consumer<Entry> replay) throws IOException {
+        Files.createDirectories(dir);
+        ExpenseJournal journal = new ExpenseJournal(dir, segmentBytes);
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            FileChannel ch = FileChannel.open(files.get(i), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long lastSeq = journal.appendedSeq;
+            long end = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            while (true) {
+                header.clear();
+                if (ch.read(header, end) < HEADER) break;
+                header.flip();
+                int len = header.getInt();
+                int crc = header.getInt();
+                if (len <= 0 || end + HEADER + len > ch.size()) break;
+                ByteBuffer payload = ByteBuffer.allocate(len);
+                ch.read(payload, end + HEADER);
+                if (checksum(payload.array()) != crc) break;
+                Entry e = decode(payload.array());
+                lastSeq = e.seq();
+                replay.accept(e);
+                end += HEADER + len;
+            }
+            if (end < ch.size()) {
+                if (!last) {
+                    ch.close();
+                    throw new IOException("Corrupt journal segment " + files.get(i) + " at offset " + end);
+                }
+                ch.truncate(end);
+                ch.force(true);
+            }
+            journal.appendedSeq = lastSeq;
+            Segment seg = new Segment(files.get(i), ch, lastSeq);
+            if (last) {
+                ch.position(end);
+                journal.active = seg;
+            } else {
+                ch.close();
+                journal.closed.add(seg);
+            }
+        }
+        journal.syncedSeq = journal.appendedSeq;
+        if (journal.active == null) journal.active = journal.newSegment(journal.appendedSeq + 1);
+        return journal;
+    }
+
+    /** Sequence of the newest record on file. */
+    public long lastSeq() {
+        return appendedSeq;
+    }
+
+    /** Writes one record; sequences must increase. Durable only after {@link #sync}. */
+    public synchronized void append(Entry e) throws IOException {
+        if (e.seq() <= appendedSeq) throw new IllegalArgumentException("Sequence " + e.seq() + " is not after " + appendedSeq);
+        if (active.channel.size() >= segmentBytes) roll(e.seq());
+        byte[] payload = encode(e);
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + payload.length);
+        buf.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        while (buf.hasRemaining()) active.channel.write(buf);
+        active.lastSeq = e.seq();
+        appendedSeq = e.seq();
+    }
+
+    /** Returns once every record up to {@code seq} is on stable storage. */
+    public void sync(long seq) throws IOException {
+        synchronized (syncLock) {
+            if (syncedSeq >= seq) return;
+            long upTo = appendedSeq;
+            active.channel.force(false);
+            syncedSeq = upTo;
+        }
+    }
+
+    /** Drops records up to {@code committedSeq}: whole older segments, and the active one once it is fully committed. */
+    public synchronized void release(long committedSeq) throws IOException {
+        while (!closed.isEmpty() && closed.peekFirst().lastSeq <= committedSeq) {
+            Files.deleteIfExists(closed.pollFirst().path);
+        }
+        if (committedSeq >= appendedSeq && active.channel.size() > 0) {
+            synchronized (syncLock) {
+                active.channel.truncate(0);
+                active.channel.force(true);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        synchronized (syncLock) {
+            active.channel.force(false);
+            active.channel.close();
+        }
+    }
+
+    private void roll(long nextSeq) throws IOException {
+        synchronized (syncLock) {
+            active.channel.force(false);
+            syncedSeq = appendedSeq;
+            active.channel.close();
+            closed.add(active);
+            active = newSegment(nextSeq);
+        }
+    }
+
+    private Segment newSegment(long firstSeq) throws IOException {
+        Path path = dir.resolve(PREFIX + String.format("%020d", firstSeq) + SUFFIX);
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // make the new directory entry durable too (best effort: not every platform can open a directory)
+        try (FileChannel d = FileChannel.open(dir, StandardOpenOption.READ)) {
+            d.force(true);
+        } catch (IOException ignored) {
+        }
+        return new Segment(path, ch, firstSeq - 1);
+    }
+
+    private static byte[] encode(Entry e) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(e.seq());
+        out.writeLong(e.ownerId());
+        out.writeLong(e.amountCents());
+        out.writeLong(e.date() == null ? Long.MIN_VALUE : e.date().toEpochDay());
+        writeNullable(out, e.description());
+        writeNullable(out, e.category());
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        long ownerId = in.readLong();
+        long cents = in.readLong();
+        long day = in.readLong();
+        String description = readNullable(in);
+        String category = readNullable(in);
+        return new Entry(seq, ownerId, cents, day == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(day), description, category);
+    }
+
+    private static void writeNullable(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        long lastSeq;
+
+        Segment(Path path, FileChannel channel, long lastSeq) {
+            this.path = path;
+            this.channel = channel;
+            this.lastSeq = lastSeq;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.spendwise.SpendWise.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Financial health score (0-100) from income, expense and investment totals.
+ * 40% savings rate + 30% investment rate + 30% expense control.
+ */
+public final class HealthScoreUtil {
+
+    private HealthScoreUtil() {
+    }
+
+    public static Map<String, Object> compute(double totalIncome, double totalExpense, double totalInvest) {
+        double savingsRate = 0;
+        double investmentRate = 0;
+        double expenseRatio = 100;
+        if (totalIncome > 0) {
+            double remaining = totalIncome - totalExpense - totalInvest;
+            savingsRate = (remaining / totalIncome) * 100;
+            investmentRate = (totalInvest / totalIncome) * 100;
+            expenseRatio = (totalExpense / totalIncome) * 100;
+        }
+
+        // Clamp ratios for display + scoring stability
+        savingsRate = Math.min(100, Math.max(0, savingsRate));
+        investmentRate = Math.min(100, Math.max(0, investmentRate));
+        expenseRatio = Math.max(0, expenseRatio);
+
+        double expenseControl = Math.min(100, Math.max(0, 100 - expenseRatio));
+        double score;
+        // Brand-new account behavior: if there are no expenses/investments yet, start at 100.
+        if (totalIncome > 0 && totalExpense == 0 && totalInvest == 0) {
+            score = 100;
+        } else {
+            score = (savingsRate * 0.4) + (investmentRate * 0.3) + (expenseControl * 0.3);
+        }
+        score = Math.min(100, Math.max(0, score));
+
+        String rating;
+        if (score >= 80) rating = "Excellent";
+        else if (score >= 60) rating = "Good";
+        else if (score >= 40) rating = "Fair";
+        else rating = "Needs Improvement";
+
+        Map<String, Object> healthScore = new HashMap<>();
+        healthScore.put("score", Math.round(score * 10) / 10.0);
+        healthScore.put("rating", rating);
+        healthScore.put("savingsRate", Math.round(savingsRate * 10) / 10.0);
+        healthScore.put("investmentRate", Math.round(investmentRate * 10) / 10.0);
+        healthScore.put("expenseRatio", Math.round(expenseRatio * 10) / 10.0);
+        healthScore.put("totalIncome", totalIncome);
+        healthScore.put("totalExpense", totalExpense);
+        healthScore.put("totalInvestment", totalInvest);
+        return healthScore;
+    }
+}
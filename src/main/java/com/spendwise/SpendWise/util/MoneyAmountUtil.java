@@ -6,12 +6,16 @@ import java.math.RoundingMode;
 /**
  * Parses and normalizes monetary amounts to 2 decimal places (HALF_UP).
  * Avoids {@code double} / {@link Double} drift for values like 350000.
+ * Entities store money as {@code long} cents; the {@code Cents} methods convert at the API boundary.
  */
 public final class MoneyAmountUtil {
 
     public static final int SCALE = 2;
     public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
 
+    // 16 integer digits keep value * 100 + 99 inside a long
+    private static final int MAX_FAST_DIGITS = 16;
+
     private MoneyAmountUtil() {
     }
 
@@ -29,4 +33,125 @@ public final class MoneyAmountUtil {
             return BigDecimal.ZERO.setScale(SCALE, ROUNDING);
         }
     }
+
+    /**
+     * Same contract as {@link #parse(Object)} (zero on null, blank or invalid input) but yields
+     * cents directly; amounts that do not fit in a {@code long} of cents count as invalid.
+     * Plain decimals such as {@code "-12.345"} are parsed without allocating; anything else
+     * (exponents, very long values) goes through {@link BigDecimal}.
+     */
+    public static long parseCents(Object value) {
+        if (value == null) return 0;
+        try {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                return Math.multiplyExact(((Number) value).longValue(), 100);
+            }
+            if (value instanceof BigDecimal d) return toCents(d);
+        } catch (ArithmeticException e) {
+            return 0;
+        }
+        if (value instanceof Double d) return toCents(d);
+        String s = value.toString();
+        if (s.isBlank()) return 0;
+        try {
+            return parseCentsExact(s);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** Strict variant for imports: blank, malformed or out-of-range input throws {@link NumberFormatException}. */
+    public static long parseCentsExact(String s) {
+        long fast = parsePlainCents(s);
+        if (fast != Long.MIN_VALUE) return fast;
+        try {
+            return toCents(new BigDecimal(s.trim()));
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + s);
+        }
+    }
+
+    /**
+     * Strict variant for request bodies (JSON numbers or strings): {@code ifMissing} when the value is
+     * null, otherwise malformed or out-of-range input throws {@link NumberFormatException}.
+     */
+    public static long parseCentsExact(Object value, long ifMissing) {
+        if (value == null) return ifMissing;
+        try {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                return Math.multiplyExact(((Number) value).longValue(), 100);
+            }
+            if (value instanceof BigDecimal d) return toCents(d);
+            if (value instanceof Double d) {
+                if (d.isNaN() || d.isInfinite()) throw new NumberFormatException("Invalid amount: " + d);
+                return toCents(BigDecimal.valueOf(d));
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + value);
+        }
+        return parseCentsExact(value.toString());
+    }
+
+    /** Zero for null, NaN, infinite or out-of-range values. */
+    public static long toCents(Double amount) {
+        if (amount == null || amount.isNaN() || amount.isInfinite()) return 0;
+        try {
+            // valueOf goes through Double.toString, so 0.285 rounds to 29 rather than 28
+            return toCents(BigDecimal.valueOf(amount));
+        } catch (ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    /** Throws {@link ArithmeticException} when the amount does not fit in a {@code long} of cents. */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) return 0;
+        return amount.setScale(SCALE, ROUNDING).unscaledValue().longValueExact();
+    }
+
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /** [-+]digits[.digits] with surrounding whitespace, or {@code Long.MIN_VALUE} if not that shape. */
+    private static long parsePlainCents(String s) {
+        int i = 0;
+        int end = s.length();
+        while (i < end && s.charAt(i) <= ' ') i++;
+        while (end > i && s.charAt(end - 1) <= ' ') end--;
+        if (i == end) return Long.MIN_VALUE;
+        boolean negative = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        while (i < end && (c = s.charAt(i)) >= '0' && c <= '9') {
+            if (++digits > MAX_FAST_DIGITS) return Long.MIN_VALUE;
+            units = units * 10 + (c - '0');
+            i++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < end && s.charAt(i) == '.') {
+            i++;
+            while (i < end && (c = s.charAt(i)) >= '0' && c <= '9') {
+                if (fractionDigits < SCALE) fraction = fraction * 10 + (c - '0');
+                else if (fractionDigits == SCALE) roundUp = c >= '5';
+                fractionDigits++;
+                i++;
+            }
+        }
+        if (i != end || digits + fractionDigits == 0) return Long.MIN_VALUE;
+        for (int k = fractionDigits; k < SCALE; k++) fraction *= 10;
+        long cents = units * 100 + fraction + (roundUp ? 1 : 0);
+        return negative ? -cents : cents;
+    }
 }
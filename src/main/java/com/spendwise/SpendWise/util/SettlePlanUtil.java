@@ -0,0 +1,121 @@
+package com.spendwise.SpendWise.util;
+
+import com.spendwise.SpendWise.model.Debt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Debt netting. Pending debts are folded into one net balance per person (in cents, one pass),
+ * then settled greedily: the largest debtor pays the largest creditor until one side is zero.
+ * Every step zeroes at least one balance, so n people need at most n - 1 transfers no matter
+ * how many pairwise IOUs there were. {@link #planAgainst} nets one user's debts per counterparty
+ * instead, so every transfer has that user on one side.
+ */
+public final class SettlePlanUtil {
+
+    private SettlePlanUtil() {
+    }
+
+    public record Transfer(Long fromUserId, Long toUserId, long amountCents) {
+        public double amount() {
+            return MoneyAmountUtil.toDouble(amountCents);
+        }
+    }
+
+    public record Plan(Map<Long, Long> balancesCents, List<Transfer> transfers, String fingerprint, int debtCount) {
+    }
+
+    public static Plan plan(List<Debt> pendingDebts) {
+        Map<Long, Long> balances = netBalances(pendingDebts);
+        return new Plan(balances, transfers(balances), fingerprint(pendingDebts), pendingDebts.size());
+    }
+
+    /**
+     * One transfer per counterparty of {@code userId}, settling just the debts between the two.
+     * Every debt in {@code pendingDebts} must have {@code userId} on one side.
+     */
+    public static Plan planAgainst(Long userId, List<Debt> pendingDebts) {
+        Map<Long, Long> balances = netBalances(pendingDebts);
+        List<Transfer> transfers = new ArrayList<>();
+        for (Map.Entry<Long, Long> e : new TreeMap<>(balances).entrySet()) {
+            long b = e.getValue();
+            if (e.getKey().equals(userId) || b == 0) continue;
+            transfers.add(b > 0 ? new Transfer(userId, e.getKey(), b) : new Transfer(e.getKey(), userId, -b));
+        }
+        return new Plan(balances, transfers, fingerprint(pendingDebts), pendingDebts.size());
+    }
+
+    /** Drops debts with no counterparty (e.g. created without a toUserId): nobody can settle them. */
+    public static List<Debt> settleable(List<Debt> pendingDebts) {
+        List<Debt> out = new ArrayList<>(pendingDebts.size());
+        for (Debt d : pendingDebts) {
+            if (d.getFromUserId() != null && d.getToUserId() != null) out.add(d);
+        }
+        return out;
+    }
+
+    /** Positive = is owed money, negative = owes money. */
+    public static Map<Long, Long> netBalances(List<Debt> pendingDebts) {
+        Map<Long, Long> balances = new HashMap<>();
+        for (Debt d : pendingDebts) {
+            long cents = d.getAmountCents();
+            if (cents == 0 || d.getFromUserId() == null || d.getToUserId() == null || d.getFromUserId().equals(d.getToUserId())) continue;
+            balances.merge(d.getFromUserId(), -cents, Long::sum);
+            balances.merge(d.getToUserId(), cents, Long::sum);
+        }
+        return balances;
+    }
+
+    public static List<Transfer> transfers(Map<Long, Long> balances) {
+        Comparator<long[]> largestFirst = (a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]);
+        PriorityQueue<long[]> creditors = new PriorityQueue<>(largestFirst);
+        PriorityQueue<long[]> debtors = new PriorityQueue<>(largestFirst);
+        for (Map.Entry<Long, Long> e : balances.entrySet()) {
+            long b = e.getValue();
+            if (b > 0) creditors.add(new long[]{e.getKey(), b});
+            else if (b < 0) debtors.add(new long[]{e.getKey(), -b});
+        }
+
+        List<Transfer> transfers = new ArrayList<>();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            long[] creditor = creditors.poll();
+            long[] debtor = debtors.poll();
+            long amount = Math.min(creditor[1], debtor[1]);
+            transfers.add(new Transfer(debtor[0], creditor[0], amount));
+            if (creditor[1] > amount) creditors.add(new long[]{creditor[0], creditor[1] - amount});
+            if (debtor[1] > amount) debtors.add(new long[]{debtor[0], debtor[1] - amount});
+        }
+        return transfers;
+    }
+
+    /**
+     * Identifies the exact set of pending debts a plan was computed from, so applying a stale
+     * plan can be refused. Order-independent.
+     */
+    public static String fingerprint(List<Debt> pendingDebts) {
+        long[][] rows = new long[pendingDebts.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            Debt d = pendingDebts.get(i);
+            rows[i] = new long[]{d.getId() == null ? 0 : d.getId(), d.getAmountCents()};
+        }
+        Arrays.sort(rows, Comparator.comparingLong(r -> r[0]));
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            for (long[] r : rows) sha.update((r[0] + ":" + r[1] + ";").getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(sha.digest(), 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
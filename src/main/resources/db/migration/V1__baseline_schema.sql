@@ -0,0 +1,114 @@
+-- Baseline schema as previously generated by hibernate.ddl-auto=update.
+-- Written to be re-runnable: databases that predate Flyway are baselined at version 0, so this
+-- script also runs against them and only adds what is missing.
+
+create sequence if not exists user_profiles_seq start with 1 increment by 50;
+create sequence if not exists incomes_seq start with 1 increment by 50;
+create sequence if not exists expenses_seq start with 1 increment by 50;
+create sequence if not exists investments_seq start with 1 increment by 50;
+create sequence if not exists budgets_seq start with 1 increment by 50;
+create sequence if not exists goals_seq start with 1 increment by 50;
+create sequence if not exists debts_seq start with 1 increment by 50;
+
+create table if not exists user_profiles (
+    id bigint not null primary key,
+    name varchar(255),
+    email varchar(255) not null,
+    monthly_income float(53),
+    password varchar(255),
+    account_type varchar(255),
+    owner_id bigint,
+    profile_image_url varchar(200000),
+    constraint uk_user_profiles_email_account_type unique (email, account_type)
+);
+
+create table if not exists incomes (
+    id bigint not null primary key,
+    owner_id bigint,
+    amount_cents bigint not null default 0,
+    description varchar(255),
+    date date
+);
+
+create table if not exists expenses (
+    id bigint not null primary key,
+    owner_id bigint,
+    amount_cents bigint not null default 0,
+    description varchar(255),
+    date date,
+    category varchar(255)
+);
+
+create table if not exists investments (
+    id bigint not null primary key,
+    owner_id bigint,
+    amount_cents bigint not null default 0,
+    description varchar(255),
+    date date
+);
+
+create table if not exists budgets (
+    id bigint not null primary key,
+    owner_id bigint,
+    category varchar(255),
+    limit_amount_cents bigint not null default 0,
+    period varchar(255),
+    month integer,
+    year integer
+);
+
+create table if not exists goals (
+    id bigint not null primary key,
+    owner_id bigint,
+    name varchar(255),
+    target_amount_cents bigint not null default 0,
+    current_amount_cents bigint not null default 0,
+    target_date date,
+    status varchar(255),
+    type varchar(255)
+);
+
+create table if not exists debts (
+    id bigint not null primary key,
+    from_user_id bigint,
+    to_user_id bigint,
+    amount_cents bigint not null default 0,
+    description varchar(255),
+    date date,
+    status varchar(255),
+    related_expense_id bigint
+);
+
+create table if not exists expense_rollups (
+    id bigint generated by default as identity primary key,
+    owner_id bigint,
+    year integer,
+    month integer,
+    day integer,
+    category varchar(255),
+    total_cents bigint not null default 0,
+    entry_count bigint,
+    constraint uk_expense_rollups_bucket unique (owner_id, year, month, category, day)
+);
+
+create table if not exists user_totals (
+    owner_id bigint not null primary key,
+    income_cents bigint not null default 0,
+    member_income_cents bigint not null default 0,
+    expense_cents bigint not null default 0,
+    investment_cents bigint not null default 0
+);
+
+-- Pre-existing tables from before amounts were stored as cents (converted in V2)
+alter table incomes add column if not exists amount_cents bigint not null default 0;
+alter table expenses add column if not exists amount_cents bigint not null default 0;
+alter table investments add column if not exists amount_cents bigint not null default 0;
+alter table debts add column if not exists amount_cents bigint not null default 0;
+alter table budgets add column if not exists limit_amount_cents bigint not null default 0;
+alter table goals add column if not exists target_amount_cents bigint not null default 0;
+alter table goals add column if not exists current_amount_cents bigint not null default 0;
+alter table expense_rollups add column if not exists total_cents bigint not null default 0;
+alter table user_totals add column if not exists income_cents bigint not null default 0;
+alter table user_totals add column if not exists member_income_cents bigint not null default 0;
+alter table user_totals add column if not exists expense_cents bigint not null default 0;
+alter table user_totals add column if not exists investment_cents bigint not null default 0;
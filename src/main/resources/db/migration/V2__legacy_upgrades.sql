@@ -0,0 +1,59 @@
+-- One-off upgrades for databases that were managed by hibernate.ddl-auto=update. No-ops on a
+-- fresh schema.
+
+-- Floating-point money columns: round into the cents columns, then drop them.
+-- Rows written after the cents columns appeared have the legacy value cleared already.
+do $$
+declare
+    c record;
+    converted bigint := 0;
+    n bigint;
+begin
+    for c in select * from (values
+            ('incomes', 'amount', 'amount_cents'),
+            ('expenses', 'amount', 'amount_cents'),
+            ('investments', 'amount', 'amount_cents'),
+            ('debts', 'amount', 'amount_cents'),
+            ('budgets', 'limit_amount', 'limit_amount_cents'),
+            ('goals', 'target_amount', 'target_amount_cents'),
+            ('goals', 'current_amount', 'current_amount_cents')) as v(tbl, legacy, cents)
+    loop
+        if exists (select 1 from information_schema.columns
+                   where table_schema = current_schema() and table_name = c.tbl and column_name = c.legacy) then
+            execute format('update %I set %I = cast(round(cast(%I as numeric) * 100) as bigint) where %I is not null',
+                    c.tbl, c.cents, c.legacy, c.legacy);
+            get diagnostics n = row_count;
+            converted := converted + n;
+            execute format('alter table %I drop column %I', c.tbl, c.legacy);
+        end if;
+    end loop;
+
+    -- Derived tables still holding floating-point totals are emptied; expense rollups are rebuilt
+    -- by RollupBackfillRunner (empty table) and running totals re-seed on first use.
+    if converted > 0 or exists (select 1 from information_schema.columns
+            where table_schema = current_schema() and table_name = 'expense_rollups' and column_name = 'total') then
+        delete from expense_rollups;
+    end if;
+    if converted > 0 or exists (select 1 from information_schema.columns
+            where table_schema = current_schema() and table_name = 'user_totals' and column_name = 'income_total') then
+        delete from user_totals;
+    end if;
+end $$;
+
+alter table expense_rollups drop column if exists total;
+alter table user_totals drop column if exists income_total;
+alter table user_totals drop column if exists member_income_total;
+alter table user_totals drop column if exists expense_total;
+alter table user_totals drop column if exists investment_total;
+
+-- Ids used to come from IDENTITY columns; move each pooled sequence past the ids already issued.
+do $$
+declare
+    t text;
+begin
+    foreach t in array array['user_profiles', 'incomes', 'expenses', 'investments', 'budgets', 'goals', 'debts']
+    loop
+        execute format('select setval(%L, greatest((select coalesce(max(id), 0) from %I) + 50, (select last_value from %I)))',
+                t || '_seq', t, t || '_seq');
+    end loop;
+end $$;
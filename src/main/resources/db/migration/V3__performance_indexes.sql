@@ -0,0 +1,24 @@
+-- Index set for the per-user access paths. Names match the indexes some installations already
+-- got from @Index annotations, so those are kept rather than duplicated.
+
+-- (owner_id, date, id): owner lookups, date-range scans and the keyset pages ordered by (date, id)
+create index if not exists idx_incomes_owner_date_id on incomes (owner_id, date, id);
+create index if not exists idx_investments_owner_date_id on investments (owner_id, date, id);
+create index if not exists idx_expenses_owner_date_id on expenses (owner_id, date, id);
+-- category filter / grouping within an owner's date range
+create index if not exists idx_expenses_owner_category_date_id on expenses (owner_id, category, date, id);
+
+-- Debts: plain indexes for the full history lists, partial covering indexes for the pending-only
+-- paths (summary sums, settle plan, locks). Settled debts accumulate and are never read there.
+drop index if exists idx_debts_from_status;
+drop index if exists idx_debts_to_status;
+create index if not exists idx_debts_from on debts (from_user_id);
+create index if not exists idx_debts_to on debts (to_user_id);
+create index if not exists idx_debts_pending_from on debts (from_user_id, to_user_id) include (amount_cents) where status = 'pending';
+create index if not exists idx_debts_pending_to on debts (to_user_id, from_user_id) include (amount_cents) where status = 'pending';
+
+create index if not exists idx_budgets_owner_period_month_year on budgets (owner_id, period, month, year);
+create index if not exists idx_goals_owner_status on goals (owner_id, status);
+
+-- group members by owner (member lists, member income sums); email lookups use the unique key
+create index if not exists idx_user_profiles_owner on user_profiles (owner_id);
@@ -0,0 +1,34 @@
+-- Cold tier for old incomes and expenses (see ColdTierService). Rows keep their ids when they move,
+-- so ids stay unique across both tiers. The move inserts in (owner_id, date, id) order, which keeps
+-- each owner's history physically clustered; the tables are append-mostly and never updated in place.
+
+create table if not exists incomes_cold (
+    id bigint not null primary key,
+    owner_id bigint not null,
+    amount_cents bigint not null,
+    description varchar(255),
+    date date not null
+);
+
+create table if not exists expenses_cold (
+    id bigint not null primary key,
+    owner_id bigint not null,
+    amount_cents bigint not null,
+    description varchar(255),
+    date date not null,
+    category varchar(255)
+);
+
+create index if not exists idx_incomes_cold_owner_date_id on incomes_cold (owner_id, date, id);
+create index if not exists idx_expenses_cold_owner_date_id on expenses_cold (owner_id, date, id);
+
+-- Per-owner monthly sums of the cold rows, so full-history totals and counts never scan the cold tables
+create table if not exists cold_monthly_totals (
+    owner_id bigint not null,
+    kind varchar(16) not null,
+    year integer not null,
+    month integer not null,
+    total_cents bigint not null default 0,
+    entry_count bigint not null default 0,
+    primary key (owner_id, kind, year, month)
+);
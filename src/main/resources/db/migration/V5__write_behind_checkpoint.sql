@@ -0,0 +1,8 @@
+-- Write-behind expense ingestion (see ExpenseWriteBehindService): the highest journal sequence whose
+-- expense has been inserted. Updated in the same transaction as the inserts, so replaying the
+-- journal after a crash skips exactly the records that already made it into the database.
+
+create table if not exists write_behind_checkpoints (
+    journal varchar(64) not null primary key,
+    committed_seq bigint not null
+);
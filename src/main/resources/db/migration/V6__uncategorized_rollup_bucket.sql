@@ -0,0 +1,14 @@
+-- Uncategorized expenses (null category) move from the shared "Other" rollup bucket to their own ''
+-- bucket, so they stop counting against an "Other" budget. Existing buckets mix the two and cannot
+-- be split, so they are rebuilt from the raw (hot and cold) expenses.
+
+delete from expense_rollups;
+
+insert into expense_rollups (owner_id, year, month, day, category, total_cents, entry_count)
+select owner_id, cast(extract(year from date) as int), cast(extract(month from date) as int), cast(extract(day from date) as int),
+       coalesce(category, ''), coalesce(sum(amount_cents), 0), count(*)
+from (select owner_id, date, category, amount_cents from expenses
+      union all
+      select owner_id, date, category, amount_cents from expenses_cold) e
+where owner_id is not null and date is not null
+group by 1, 2, 3, 4, 5;
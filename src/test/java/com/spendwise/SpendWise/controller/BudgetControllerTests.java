@@ -0,0 +1,77 @@
+package com.spendwise.SpendWise.controller;
+
+import com.spendwise.SpendWise.model.Budget;
+import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.repository.BudgetRepository;
+import com.spendwise.SpendWise.services.AuthService;
+import com.spendwise.SpendWise.services.BudgetAlertService;
+import com.spendwise.SpendWise.services.DataVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BudgetControllerTests {
+
+    private static final String AUTH = "Bearer t";
+
+    private final BudgetRepository budgets = mock(BudgetRepository.class);
+    private final AuthService auth = mock(AuthService.class);
+    private final BudgetAlertService alerts = mock(BudgetAlertService.class);
+    private final BudgetController controller = new BudgetController(budgets, auth, mock(DataVersionService.class), alerts);
+
+    @BeforeEach
+    void signIn() {
+        UserProfile u = new UserProfile("Ann", "ann@example.com", 100.0, null, "individual");
+        u.setId(7L);
+        when(auth.getByToken("t")).thenReturn(u);
+        when(budgets.save(any(Budget.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void malformedOrOutOfRangeAmountsAreRejected() {
+        for (Object amount : new Object[]{"12,50", "abc", 1e300, Long.MAX_VALUE}) {
+            ResponseEntity<?> resp = controller.create(AUTH, body("limitAmount", amount));
+            assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode(), String.valueOf(amount));
+            assertEquals("Invalid amount", resp.getBody());
+        }
+        verify(budgets, never()).save(any());
+    }
+
+    @Test
+    void aMissingAmountIsZero() {
+        ResponseEntity<?> resp = controller.create(AUTH, body("category", "Food"));
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertEquals(0L, ((Budget) resp.getBody()).getLimitAmountCents());
+    }
+
+    @Test
+    void movingABudgetReEvaluatesBothMonths() {
+        Budget b = new Budget(7L, "Food", 100.0, "monthly", 3, 2025);
+        b.setId(1L);
+        when(budgets.findById(1L)).thenReturn(Optional.of(b));
+
+        controller.update(AUTH, 1L, Map.of("month", 4));
+
+        verify(alerts).budgetsChanged(7L, 2025, 4);
+        verify(alerts).budgetsChanged(7L, 2025, 3);
+    }
+
+    private static Map<String, Object> body(String key, Object value) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("category", "Food");
+        body.put(key, value);
+        return body;
+    }
+}
@@ -0,0 +1,185 @@
+package com.spendwise.SpendWise.controller;
+
+import com.spendwise.SpendWise.config.GeminiClientConfig;
+import com.spendwise.SpendWise.services.GeminiChatService;
+import com.spendwise.SpendWise.services.GeminiRateLimiter;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the chat endpoint against a local stub that simulates a slow Gemini upstream.
+ */
+class ChatControllerTests {
+
+    private static final String ANSWER_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\" Make a budget. \"}]}}]}";
+
+    private HttpServer stub;
+    private ExecutorService stubThreads;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicInteger rateLimitedResponses = new AtomicInteger();
+    private GeminiRateLimiter limiter = new GeminiRateLimiter(60_000, 100, 100);
+
+    @AfterEach
+    void stopStub() {
+        if (stub != null) stub.stop(0);
+        if (stubThreads != null) stubThreads.shutdownNow();
+    }
+
+    @Test
+    void concurrentSlowCallsDoNotQueueBehindEachOther() {
+        ChatController chat = controllerFor(startStub(400), 2000, 5000);
+
+        long start = System.nanoTime();
+        List<ResponseEntity<Map<String, Object>>> responses = Flux.range(0, 32)
+                .flatMap(i -> chat.askQuestion(Map.of("question", "how do I make budget #" + i + "?")))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(32, responses.size());
+        responses.forEach(r -> {
+            assertEquals(HttpStatus.OK, r.getStatusCode());
+            assertEquals("Make a budget.", r.getBody().get("answer"));
+        });
+        // 32 sequential calls would take ~12.8s; in flight together they take about one round trip
+        assertTrue(elapsedMs < 4000, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void identicalQuestionsShareOneUpstreamCallAndRepeatsHitTheCache() {
+        ChatController chat = controllerFor(startStub(400), 2000, 5000);
+
+        List<ResponseEntity<Map<String, Object>>> responses = Flux.range(0, 20)
+                .flatMap(i -> chat.askQuestion(Map.of("question", i % 2 == 0 ? "How do I make a budget?" : "  how do i make a BUDGET ")))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        assertEquals(20, responses.size());
+        responses.forEach(r -> assertEquals("Make a budget.", r.getBody().get("answer")));
+        assertEquals(1, upstreamCalls.get());
+
+        long start = System.nanoTime();
+        ResponseEntity<Map<String, Object>> repeat = chat.askQuestion(Map.of("question", "how do I make a budget")).block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("Make a budget.", repeat.getBody().get("answer"));
+        assertEquals(1, upstreamCalls.get());
+        assertTrue(elapsedMs < 100, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void burstBeyondTheWaitQueueIsShedWith503() {
+        limiter = new GeminiRateLimiter(60, 1, 1);
+        ChatController chat = controllerFor(startStub(0), 2000, 5000);
+
+        List<ResponseEntity<Map<String, Object>>> responses = Flux.range(0, 3)
+                .flatMap(i -> chat.askQuestion(Map.of("question", "question " + i)))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(2, responses.stream().filter(r -> r.getStatusCode() == HttpStatus.OK).count());
+        assertEquals(1, responses.stream().filter(r -> r.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE).count());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void upstream429IsRetriedAfterRetryAfter() {
+        rateLimitedResponses.set(1);
+        ChatController chat = controllerFor(startStub(0), 2000, 5000);
+
+        long start = System.nanoTime();
+        ResponseEntity<Map<String, Object>> response = chat.askQuestion(Map.of("question", "hello")).block(Duration.ofSeconds(5));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, upstreamCalls.get());
+        assertTrue(elapsedMs >= 1000, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void slowUpstreamIsCutOffWithGatewayTimeout() {
+        ChatController chat = controllerFor(startStub(3000), 300, 5000);
+
+        ResponseEntity<Map<String, Object>> response = chat.askQuestion(Map.of("question", "hello")).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+    }
+
+    @Test
+    void overallDeadlineAppliesEvenWhenReadsKeepArriving() {
+        ChatController chat = controllerFor(startStub(1500), 5000, 300);
+
+        ResponseEntity<Map<String, Object>> response = chat.askQuestion(Map.of("question", "hello")).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+    }
+
+    @Test
+    void blankQuestionIsRejected() {
+        ChatController chat = controllerFor("http://127.0.0.1:1/unused", 1000, 1000);
+
+        ResponseEntity<Map<String, Object>> response = chat.askQuestion(Map.of("question", " ")).block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private String startStub(long delayMs) {
+        try {
+            stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+        stubThreads = Executors.newCachedThreadPool();
+        stub.setExecutor(stubThreads);
+        stub.createContext("/generate", exchange -> {
+            try {
+                exchange.getRequestBody().readAllBytes();
+                upstreamCalls.incrementAndGet();
+                if (rateLimitedResponses.getAndDecrement() > 0) {
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                    exchange.sendResponseHeaders(429, -1);
+                    return;
+                }
+                Thread.sleep(delayMs);
+                byte[] body = ANSWER_JSON.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (java.io.IOException ignored) {
+                // client gave up (timeout tests)
+            } finally {
+                exchange.close();
+            }
+        });
+        stub.start();
+        return "http://127.0.0.1:" + stub.getAddress().getPort() + "/generate";
+    }
+
+    private ChatController controllerFor(String url, long readTimeoutMs, long overallTimeoutMs) {
+        WebClient client = new GeminiClientConfig().geminiWebClient(WebClient.builder(), 1000, readTimeoutMs);
+        return new ChatController(new GeminiChatService(client, url, "test-key", overallTimeoutMs, 100, 60, limiter, 2, 50));
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.repository.BudgetRepository;
+import com.spendwise.SpendWise.repository.DebtRepository;
+import com.spendwise.SpendWise.repository.ExpenseRepository;
+import com.spendwise.SpendWise.repository.GoalRepository;
+import com.spendwise.SpendWise.repository.IncomeRepository;
+import com.spendwise.SpendWise.repository.InvestmentRepository;
+import com.spendwise.SpendWise.util.ArchiveCodec;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArchiveServiceTests {
+
+    private final DebtRepository debts = mock(DebtRepository.class);
+    private final DataVersionService versions = mock(DataVersionService.class);
+    private final ArchiveService archives = new ArchiveService(mock(IncomeRepository.class), mock(ExpenseRepository.class),
+            mock(InvestmentRepository.class), mock(BudgetRepository.class), mock(GoalRepository.class), debts,
+            mock(FinanceService.class), versions, mock(EntityManager.class));
+
+    @Test
+    void restoreOnlyCreatesDebtsTheCallerOwes() throws IOException {
+        // crafted archive "from" user 1, restored into user 50
+        byte[] archive = archive(1L, List.of(
+                debt(1L, 2L, 1000, "lunch", 77L),
+                debt(2L, 1L, 5000, "victim owes me", null),
+                debt(3L, 4L, 9000, "between strangers", null),
+                debt(1L, null, 300, "nobody", null),
+                debt(1L, 2L, 2000, "already restored", null)));
+        when(debts.findByFromUserId(50L)).thenReturn(List.of(debt(50L, 2L, 2000, "already restored", null)));
+
+        Map<String, Object> report = archives.restore(50L, new ByteArrayInputStream(archive));
+
+        List<Debt> saved = savedDebts();
+        assertEquals(2, saved.size());
+        assertEquals(List.of(50L, 50L), saved.stream().map(Debt::getFromUserId).toList());
+        assertEquals(2L, saved.get(0).getToUserId());
+        assertNull(saved.get(0).getRelatedExpenseId());
+        assertNull(saved.get(1).getToUserId());
+        assertEquals(2L, report.get("debts"));
+        assertEquals(3L, report.get("debtsSkipped"));
+        verify(versions).bump(2L);
+        verify(versions, never()).bump(3L);
+        verify(versions, never()).bump(4L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Debt> savedDebts() {
+        ArgumentCaptor<List<Debt>> captor = ArgumentCaptor.forClass(List.class);
+        verify(debts).saveAll(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    private static byte[] archive(long sourceOwnerId, List<Debt> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveCodec.Writer w = new ArchiveCodec.Writer(out, sourceOwnerId);
+        w.debts(rows);
+        w.finish();
+        return out.toByteArray();
+    }
+
+    private static Debt debt(Long from, Long to, long cents, String description, Long relatedExpenseId) {
+        Debt d = new Debt(from, to, null, description, LocalDate.of(2024, 1, 1));
+        d.setAmountCents(cents);
+        d.setRelatedExpenseId(relatedExpenseId);
+        return d;
+    }
+}
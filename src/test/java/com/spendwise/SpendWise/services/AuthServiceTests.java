@@ -0,0 +1,66 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.UserProfile;
+import com.spendwise.SpendWise.repository.UserProfileRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTests {
+
+    private final UserProfileRepository repo = mock(UserProfileRepository.class);
+    private final AuthService auth = new AuthService(repo, 100, 300, 100, 60);
+
+    @Test
+    void callersGetCopiesOfTheCachedPrincipal() {
+        when(repo.findById(1L)).thenReturn(Optional.of(profile("Ann")));
+        String token = auth.issueTokenForUser(profile("Ann"));
+
+        UserProfile first = auth.getByToken(token);
+        first.setName("changed by a caller");
+        UserProfile second = auth.getByToken(token);
+
+        assertEquals("Ann", second.getName());
+        assertNull(second.getPassword());
+        verify(repo, times(1)).findById(1L);
+    }
+
+    @Test
+    void aLoadRacingAnEvictionIsNotCached() {
+        String token = auth.issueTokenForUser(profile("Ann"));
+        // the profile is updated and evicted while the old row is being read
+        when(repo.findById(1L)).thenAnswer(inv -> {
+            auth.evictPrincipal(1L);
+            return Optional.of(profile("Ann"));
+        });
+        auth.getByToken(token);
+
+        when(repo.findById(1L)).thenReturn(Optional.of(profile("Bea")));
+        assertEquals("Bea", auth.getByToken(token).getName());
+        assertEquals("Bea", auth.getByToken(token).getName());
+        verify(repo, times(2)).findById(1L);
+    }
+
+    @Test
+    void streamTicketsWorkOnce() {
+        when(repo.findById(1L)).thenReturn(Optional.of(profile("Ann")));
+        String ticket = auth.issueStreamTicket(1L);
+
+        assertEquals("Ann", auth.redeemStreamTicket(ticket).getName());
+        assertNull(auth.redeemStreamTicket(ticket));
+        assertNull(auth.getByToken(ticket));
+    }
+
+    private static UserProfile profile(String name) {
+        UserProfile u = new UserProfile(name, "ann@example.com", 100.0, "hash", "individual");
+        u.setId(1L);
+        return u;
+    }
+}
@@ -0,0 +1,90 @@
+package com.spendwise.SpendWise.services;
+
+import com.spendwise.SpendWise.model.Budget;
+import com.spendwise.SpendWise.repository.BudgetRepository;
+import com.spendwise.SpendWise.repository.CategoryTotal;
+import com.spendwise.SpendWise.repository.ExpenseRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BudgetAlertServiceTests {
+
+    private final BudgetRepository budgets = mock(BudgetRepository.class);
+    private final ExpenseRollupRepository rollups = mock(ExpenseRollupRepository.class);
+    private final BudgetAlertService alerts = new BudgetAlertService(budgets, rollups, 60_000, 5, 100, 5000);
+
+    @Test
+    void levelsFollowTheStatusThresholds() {
+        assertEquals(BudgetAlertService.Level.OK, BudgetAlertService.level(7_999, 10_000));
+        assertEquals(BudgetAlertService.Level.NEAR_LIMIT, BudgetAlertService.level(8_000, 10_000));
+        assertEquals(BudgetAlertService.Level.NEAR_LIMIT, BudgetAlertService.level(10_000, 10_000));
+        assertEquals(BudgetAlertService.Level.OVER_BUDGET, BudgetAlertService.level(10_001, 10_000));
+        assertEquals(BudgetAlertService.Level.OK, BudgetAlertService.level(0, 0));
+    }
+
+    @Test
+    void writesOfUsersWithoutAStreamAreNotEvaluated() {
+        alerts.expenseWritten(7L, 2025, 3, "Food", 500);
+        verifyNoInteractions(budgets, rollups);
+    }
+
+    @Test
+    void onlyTheTouchedBudgetIsReEvaluated() {
+        LocalDate now = LocalDate.now();
+        when(budgets.findByOwnerIdAndPeriodAndMonthAndYear(7L, "monthly", now.getMonthValue(), now.getYear()))
+                .thenReturn(List.of(budget(1L, "Food", 10_000), budget(2L, "Travel", 10_000)));
+        when(rollups.sumByCategoryForMonth(7L, now.getYear(), now.getMonthValue())).thenReturn(List.of());
+        when(rollups.sumTotalCentsForMonthAndCategory(7L, now.getYear(), now.getMonthValue(), "Food")).thenReturn(9_000L);
+        alerts.subscribe(7L);
+        assertEquals(1, alerts.openStreams());
+
+        alerts.expenseWritten(7L, now.getYear(), now.getMonthValue(), "Food", 9_000);
+        verify(rollups, timeout(2000)).sumTotalCentsForMonthAndCategory(7L, now.getYear(), now.getMonthValue(), "Food");
+        verify(rollups, never()).sumTotalCentsForMonthAndCategory(anyLong(), anyInt(), anyInt(), eq("Travel"));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (alerts.alertsSent() == 0 && System.currentTimeMillis() < deadline) Thread.onSpinWait();
+        assertEquals(1, alerts.alertsSent());
+
+        // same level again: nothing to push
+        alerts.expenseWritten(7L, now.getYear(), now.getMonthValue(), "Food", 0);
+        verify(rollups, timeout(2000).times(2)).sumTotalCentsForMonthAndCategory(anyLong(), anyInt(), anyInt(), anyString());
+        assertEquals(1, alerts.alertsSent());
+    }
+
+    @Test
+    void uncategorizedExpensesDoNotCountAgainstAnOtherBudget() {
+        when(budgets.findByOwnerIdAndPeriodAndMonthAndYear(7L, "monthly", 3, 2025)).thenReturn(List.of(budget(1L, "Other", 10_000)));
+        when(rollups.sumByCategoryForMonth(7L, 2025, 3)).thenReturn(List.of(
+                total("Other", 2_000), total(ExpenseRollupService.bucketCategory(null), 9_000)));
+
+        assertEquals(20.0, alerts.status(7L, 2025, 3).get("Other").get("spent"));
+    }
+
+    private static CategoryTotal total(String category, long cents) {
+        return new CategoryTotal() {
+            @Override public String getCategory() { return category; }
+            @Override public long getTotalCents() { return cents; }
+        };
+    }
+
+    private static Budget budget(Long id, String category, long limitCents) {
+        Budget b = new Budget(7L, category, null, "monthly", LocalDate.now().getMonthValue(), LocalDate.now().getYear());
+        b.setId(id);
+        b.setLimitAmountCents(limitCents);
+        return b;
+    }
+}
@@ -0,0 +1,59 @@
+package com.spendwise.SpendWise.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelQueryExecutorTests {
+
+    @Test
+    void forkedTasksRunConcurrently() throws Exception {
+        ParallelQueryExecutor parallel = new ParallelQueryExecutor(4, 5000);
+
+        long start = System.nanoTime();
+        try (ParallelQueryExecutor.Scope scope = parallel.open()) {
+            Supplier<Integer> a = scope.fork(() -> slow(300, 1));
+            Supplier<Integer> b = scope.fork(() -> slow(300, 2));
+            Supplier<Integer> c = scope.fork(() -> slow(300, 3));
+            scope.join();
+            assertEquals(6, a.get() + b.get() + c.get());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs < 800, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void firstFailureCancelsSiblings() throws Exception {
+        ParallelQueryExecutor parallel = new ParallelQueryExecutor(4, 5000);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        try (ParallelQueryExecutor.Scope scope = parallel.open()) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return 0;
+            });
+            scope.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+            assertThrows(IllegalArgumentException.class, scope::join);
+        }
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 1000);
+    }
+
+    private static int slow(long millis, int value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+}
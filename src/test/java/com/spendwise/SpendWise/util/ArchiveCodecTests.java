@@ -0,0 +1,183 @@
+package com.spendwise.SpendWise.util;
+
+import com.spendwise.SpendWise.model.Budget;
+import com.spendwise.SpendWise.model.Debt;
+import com.spendwise.SpendWise.model.Expense;
+import com.spendwise.SpendWise.model.Goal;
+import com.spendwise.SpendWise.model.Income;
+import com.spendwise.SpendWise.model.Investment;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveCodecTests {
+
+    private static final String[] CATEGORIES = {"Food", "Transport", "Bills", "Other"};
+
+    @Test
+    void everyEntityRoundTrips() throws IOException {
+        SplittableRandom rnd = new SplittableRandom(5);
+        List<Income> incomes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        List<Investment> investments = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            LocalDate date = i % 97 == 0 ? null : LocalDate.of(2022, 1, 1).plusDays(rnd.nextInt(900));
+            String description = i % 50 == 0 ? null : i % 51 == 0 ? "" : "Café \"#" + i + "\", ok";
+            long cents = rnd.nextLong(-5_000, 10_000_000);
+
+            Income in = new Income();
+            in.setId(10L + i);
+            in.setDate(date);
+            in.setDescription(description);
+            in.setAmountCents(cents);
+            incomes.add(in);
+
+            Expense e = new Expense();
+            e.setId(5000L - i);
+            e.setDate(date);
+            e.setDescription(description);
+            e.setAmountCents(cents + 1);
+            e.setCategory(i % 40 == 0 ? null : CATEGORIES[rnd.nextInt(CATEGORIES.length)]);
+            expenses.add(e);
+
+            Investment iv = new Investment();
+            iv.setId(i % 3 == 0 ? null : (long) i);
+            iv.setDate(date);
+            iv.setDescription(description);
+            iv.setAmountCents(Long.MIN_VALUE + i);
+            investments.add(iv);
+        }
+
+        Budget b = new Budget(7L, "Food", 250.5, "monthly", 3, 2024);
+        b.setId(1L);
+        Budget yearly = new Budget(7L, null, 0.0, "yearly", null, null);
+        yearly.setId(2L);
+        Goal g = new Goal(7L, "Car", null, null, null, "savings");
+        g.setId(3L);
+        g.setTargetAmountCents(Long.MAX_VALUE);
+        g.setCurrentAmountCents(12345);
+        Debt d = new Debt(7L, 9L, 10.01, "pizza", LocalDate.of(2024, 2, 29));
+        d.setId(4L);
+        d.setRelatedExpenseId(4990L);
+        Debt settled = new Debt(9L, 7L, 0.0, null, null);
+        settled.setId(5L);
+        settled.setStatus("settled");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveCodec.Writer w = new ArchiveCodec.Writer(out, 7L);
+        w.incomes(incomes);
+        w.expenses(expenses);
+        w.investments(investments);
+        w.budgets(List.of(b, yearly));
+        w.goals(List.of(g));
+        w.debts(List.of(d, settled));
+        w.finish();
+
+        Collected got = new Collected();
+        ArchiveCodec.Reader reader = new ArchiveCodec.Reader(ByteBuffer.wrap(out.toByteArray()));
+        reader.readAll(got);
+
+        assertEquals(7L, reader.sourceOwnerId());
+        assertEquals(incomes.size(), got.incomes.size());
+        for (int i = 0; i < incomes.size(); i++) {
+            Income a = incomes.get(i), r = got.incomes.get(i);
+            assertEquals(Arrays.asList(a.getId(), a.getDate(), a.getDescription(), a.getAmountCents()),
+                    Arrays.asList(r.getId(), r.getDate(), r.getDescription(), r.getAmountCents()));
+            Expense ea = expenses.get(i), er = got.expenses.get(i);
+            assertEquals(Arrays.asList(ea.getId(), ea.getDate(), ea.getDescription(), ea.getAmountCents(), ea.getCategory()),
+                    Arrays.asList(er.getId(), er.getDate(), er.getDescription(), er.getAmountCents(), er.getCategory()));
+            Investment va = investments.get(i), vr = got.investments.get(i);
+            assertEquals(Arrays.asList(va.getId(), va.getDate(), va.getAmountCents()), Arrays.asList(vr.getId(), vr.getDate(), vr.getAmountCents()));
+        }
+
+        Budget rb = got.budgets.get(1);
+        assertEquals(Arrays.asList(2L, null, 0L, "yearly", null, null),
+                Arrays.asList(rb.getId(), rb.getCategory(), rb.getLimitAmountCents(), rb.getPeriod(), rb.getMonth(), rb.getYear()));
+        assertEquals(25050, got.budgets.get(0).getLimitAmountCents());
+        assertEquals(Integer.valueOf(2024), got.budgets.get(0).getYear());
+        Goal rg = got.goals.get(0);
+        assertEquals(Arrays.asList("Car", Long.MAX_VALUE, 12345L, null, "active", "savings"),
+                Arrays.asList(rg.getName(), rg.getTargetAmountCents(), rg.getCurrentAmountCents(), rg.getTargetDate(), rg.getStatus(), rg.getType()));
+        Debt rd = got.debts.get(0);
+        assertEquals(Arrays.asList(7L, 9L, 1001L, "pizza", LocalDate.of(2024, 2, 29), "pending", 4990L),
+                Arrays.asList(rd.getFromUserId(), rd.getToUserId(), rd.getAmountCents(), rd.getDescription(), rd.getDate(), rd.getStatus(), rd.getRelatedExpenseId()));
+        assertEquals("settled", got.debts.get(1).getStatus());
+        assertNull(got.debts.get(1).getRelatedExpenseId());
+    }
+
+    @Test
+    void archiveIsFarSmallerThanTheCsvExport() throws IOException {
+        SplittableRandom rnd = new SplittableRandom(9);
+        List<Expense> expenses = new ArrayList<>();
+        StringBuilder csv = new StringBuilder(CsvExportUtil.HEADER);
+        LocalDate date = LocalDate.of(2021, 1, 1);
+        for (int i = 0; i < 20_000; i++) {
+            if (rnd.nextInt(4) == 0) date = date.plusDays(1);
+            Expense e = new Expense();
+            e.setId(1000L + i);
+            e.setDate(date);
+            e.setAmountCents(rnd.nextLong(100, 20_000));
+            e.setDescription(i % 3 == 0 ? "Groceries" : i % 3 == 1 ? "Coffee" : "Bus ticket");
+            e.setCategory(CATEGORIES[rnd.nextInt(CATEGORIES.length)]);
+            expenses.add(e);
+            CsvExportUtil.appendRow(csv, "Expense", e.getDate(), e.getDescription(), e.getAmountCents(), e.getCategory());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveCodec.Writer w = new ArchiveCodec.Writer(out, 1L);
+        for (int from = 0; from < expenses.size(); from += ArchiveCodec.BLOCK_ROWS) {
+            w.expenses(expenses.subList(from, Math.min(expenses.size(), from + ArchiveCodec.BLOCK_ROWS)));
+        }
+        w.finish();
+
+        assertTrue(out.size() * 10 < csv.length(), out.size() + " bytes vs " + csv.length() + " CSV bytes");
+        Collected got = new Collected();
+        new ArchiveCodec.Reader(ByteBuffer.wrap(out.toByteArray())).readAll(got);
+        assertEquals(expenses.size(), got.expenses.size());
+    }
+
+    @Test
+    void malformedInputIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveCodec.Writer w = new ArchiveCodec.Writer(out, 1L);
+        Income in = new Income(1L, 12.5, "salary", LocalDate.of(2024, 1, 1));
+        w.incomes(List.of(in));
+        w.finish();
+        byte[] bytes = out.toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> new ArchiveCodec.Reader(ByteBuffer.wrap("id,amount\n".getBytes())));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThrows(IllegalArgumentException.class, () -> new ArchiveCodec.Reader(ByteBuffer.wrap(truncated)).readAll(new Collected()));
+        byte[] flipped = bytes.clone();
+        flipped[flipped.length - 4] ^= 0x55;
+        assertThrows(IllegalArgumentException.class, () -> new ArchiveCodec.Reader(ByteBuffer.wrap(flipped)).readAll(new Collected()));
+    }
+
+    private static final class Collected implements ArchiveCodec.Sink {
+        final List<Income> incomes = new ArrayList<>();
+        final List<Expense> expenses = new ArrayList<>();
+        final List<Investment> investments = new ArrayList<>();
+        final List<Budget> budgets = new ArrayList<>();
+        final List<Goal> goals = new ArrayList<>();
+        final List<Debt> debts = new ArrayList<>();
+
+        public void incomes(List<Income> rows) { incomes.addAll(rows); }
+        public void expenses(List<Expense> rows) { expenses.addAll(rows); }
+        public void investments(List<Investment> rows) { investments.addAll(rows); }
+        public void budgets(List<Budget> rows) { budgets.addAll(rows); }
+        public void goals(List<Goal> rows) { goals.addAll(rows); }
+        public void debts(List<Debt> rows) { debts.addAll(rows); }
+    }
+}
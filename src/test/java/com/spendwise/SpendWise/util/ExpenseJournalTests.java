@@ -0,0 +1,99 @@
+package com.spendwise.SpendWise.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseJournalTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopenAndATornTailIsCut() throws IOException {
+        ExpenseJournal journal = ExpenseJournal.open(dir, 1 << 20, e -> { });
+        for (long seq = 1; seq <= 100; seq++) {
+            journal.append(entry(seq));
+        }
+        ExpenseJournal.Entry nulls = new ExpenseJournal.Entry(101, 9, 0, null, null, null);
+        journal.append(nulls);
+        journal.sync(101);
+        long intact = Files.size(segments().get(0));
+        // a crash halfway through writing record 102
+        journal.append(entry(102));
+        journal.close();
+        try (FileChannel ch = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            ch.truncate(intact + 5);
+        }
+
+        List<ExpenseJournal.Entry> replayed = new ArrayList<>();
+        ExpenseJournal reopened = ExpenseJournal.open(dir, 1 << 20, replayed::add);
+        assertEquals(101, replayed.size());
+        assertEquals(entry(37), replayed.get(36));
+        assertEquals(nulls, replayed.get(100));
+        assertEquals(101, reopened.lastSeq());
+        assertEquals(intact, Files.size(segments().get(0)));
+        reopened.append(entry(102));
+        reopened.close();
+        replayed.clear();
+        ExpenseJournal.open(dir, 1 << 20, replayed::add).close();
+        assertEquals(entry(102), replayed.get(101));
+    }
+
+    @Test
+    void releaseDropsCommittedSegments() throws IOException {
+        ExpenseJournal journal = ExpenseJournal.open(dir, 1 << 16, e -> { });
+        for (long seq = 1; seq <= 3000; seq++) {
+            journal.append(entry(seq));
+        }
+        journal.sync(3000);
+        int rolled = segments().size();
+        assertTrue(rolled > 2, "expected several segments, got " + rolled);
+
+        journal.release(1500);
+        List<ExpenseJournal.Entry> left = new ArrayList<>();
+        journal.close();
+        ExpenseJournal.open(dir, 1 << 16, left::add).close();
+        assertTrue(left.get(0).seq() > 1 && left.get(0).seq() <= 1501, "first kept record " + left.get(0).seq());
+        assertEquals(3000, left.get(left.size() - 1).seq());
+
+        ExpenseJournal reopened = ExpenseJournal.open(dir, 1 << 16, e -> { });
+        reopened.release(3000);
+        reopened.close();
+        List<ExpenseJournal.Entry> none = new ArrayList<>();
+        ExpenseJournal.open(dir, 1 << 16, none::add).close();
+        assertEquals(0, none.size());
+    }
+
+    @Test
+    void sequencesMustIncrease() throws IOException {
+        ExpenseJournal journal = ExpenseJournal.open(dir, 1 << 20, e -> { });
+        journal.append(entry(5));
+        assertThrows(IllegalArgumentException.class, () -> journal.append(entry(5)));
+        journal.close();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.sorted().toList();
+        }
+    }
+
+    private static ExpenseJournal.Entry entry(long seq) {
+        return new ExpenseJournal.Entry(seq, seq % 7, seq * 101 - 50, LocalDate.of(2025, 1, 1).plusDays(seq),
+                "Lunch \"" + seq + "\" café", seq % 3 == 0 ? null : "Food");
+    }
+}
@@ -0,0 +1,60 @@
+package com.spendwise.SpendWise.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyAmountUtilTests {
+
+    @Test
+    void parseCentsAgreesWithParse() {
+        String[] inputs = {"0", "12", "12.3", "12.34", "12.345", "12.344", "-12.345", " 7.5 ", "+3.999",
+                ".5", "5.", "1e3", "12345678901234567.895", "abc", "", "1.2.3", "-"};
+        for (String s : inputs) {
+            BigDecimal expected = MoneyAmountUtil.parse(s);
+            assertEquals(expected.unscaledValue().longValueExact(), MoneyAmountUtil.parseCents(s), s);
+        }
+    }
+
+    @Test
+    void doublesRoundOnTheirDecimalForm() {
+        assertEquals(29, MoneyAmountUtil.toCents(0.285));
+        assertEquals(30, MoneyAmountUtil.toCents(0.1 + 0.2));
+        assertEquals(0, MoneyAmountUtil.toCents((Double) null));
+    }
+
+    @Test
+    void outOfRangeAmountsParseAsZero() {
+        assertEquals(0, MoneyAmountUtil.parseCents(1e300));
+        assertEquals(0, MoneyAmountUtil.parseCents(-1e300));
+        assertEquals(0, MoneyAmountUtil.parseCents(new BigDecimal("1e300")));
+        assertEquals(0, MoneyAmountUtil.parseCents("1e300"));
+        assertEquals(0, MoneyAmountUtil.parseCents(Long.MAX_VALUE / 10));
+        assertEquals(0, MoneyAmountUtil.parseCents(Long.MIN_VALUE));
+        assertEquals(214748364700L, MoneyAmountUtil.parseCents(Integer.MAX_VALUE));
+        assertEquals(0, MoneyAmountUtil.toCents(1e300));
+    }
+
+    @Test
+    void requestAmountsAreStrictButMayBeMissing() {
+        assertEquals(7, MoneyAmountUtil.parseCentsExact(null, 7));
+        assertEquals(1250, MoneyAmountUtil.parseCentsExact(12.5, 0));
+        assertEquals(1200, MoneyAmountUtil.parseCentsExact(12, 0));
+        assertEquals(1234, MoneyAmountUtil.parseCentsExact((Object) "12.34", 0));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact("12,50", 0));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact(1e300, 0));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact(Long.MAX_VALUE / 10, 0));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact(Double.NaN, 0));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact(true, 0));
+    }
+
+    @Test
+    void parseCentsExactRejectsMalformedInput() {
+        assertEquals(-1050, MoneyAmountUtil.parseCentsExact("-10.5"));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact("ten"));
+        assertThrows(NumberFormatException.class, () -> MoneyAmountUtil.parseCentsExact(" "));
+    }
+}
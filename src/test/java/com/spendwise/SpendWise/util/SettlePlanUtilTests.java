@@ -0,0 +1,93 @@
+package com.spendwise.SpendWise.util;
+
+import com.spendwise.SpendWise.model.Debt;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SettlePlanUtilTests {
+
+    @Test
+    void cycleCancelsOut() {
+        List<Debt> debts = List.of(debt(1, 1, 2, 10.0), debt(2, 2, 3, 10.0), debt(3, 3, 1, 10.0));
+
+        assertTrue(SettlePlanUtil.plan(debts).transfers().isEmpty());
+    }
+
+    @Test
+    void chainCollapsesToOneTransfer() {
+        List<Debt> debts = List.of(debt(1, 1, 2, 25.50), debt(2, 2, 3, 25.50));
+
+        List<SettlePlanUtil.Transfer> transfers = SettlePlanUtil.plan(debts).transfers();
+
+        assertEquals(List.of(new SettlePlanUtil.Transfer(1L, 3L, 2550)), transfers);
+    }
+
+    @Test
+    void transfersClearEveryBalanceWithAtMostNMinusOnePayments() {
+        SplittableRandom rnd = new SplittableRandom(3);
+        int members = 40;
+        List<Debt> debts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long from = 1 + rnd.nextInt(members);
+            long to = 1 + (from + rnd.nextInt(members - 1)) % members;
+            debts.add(debt(i + 1, from, to, rnd.nextInt(1, 50000) / 100.0));
+        }
+
+        SettlePlanUtil.Plan plan = SettlePlanUtil.plan(debts);
+
+        Map<Long, Long> remaining = new HashMap<>(plan.balancesCents());
+        for (SettlePlanUtil.Transfer t : plan.transfers()) {
+            assertTrue(t.amountCents() > 0);
+            remaining.merge(t.fromUserId(), t.amountCents(), Long::sum);
+            remaining.merge(t.toUserId(), -t.amountCents(), Long::sum);
+        }
+        remaining.values().forEach(b -> assertEquals(0L, b));
+        assertTrue(plan.transfers().size() <= members - 1);
+    }
+
+    @Test
+    void planAgainstKeepsTheUserOnEveryTransfer() {
+        // 2 owes 1, 1 owes 3: a group plan would have 2 pay 3 directly
+        List<Debt> debts = List.of(debt(1, 2, 1, 10.0), debt(2, 1, 3, 10.0), debt(3, 1, 2, 4.0));
+
+        List<SettlePlanUtil.Transfer> transfers = SettlePlanUtil.planAgainst(1L, debts).transfers();
+
+        assertEquals(List.of(new SettlePlanUtil.Transfer(2L, 1L, 600), new SettlePlanUtil.Transfer(1L, 3L, 1000)), transfers);
+    }
+
+    @Test
+    void debtsWithoutACounterpartyAreLeftOut() {
+        Debt open = new Debt(1L, null, 12.0, "IOU", LocalDate.of(2024, 1, 1));
+        open.setId(9L);
+        List<Debt> debts = List.of(debt(1, 1, 2, 10.0), open);
+
+        assertEquals(Map.of(1L, -1000L, 2L, 1000L), SettlePlanUtil.netBalances(debts));
+        assertEquals(List.of(debts.get(0)), SettlePlanUtil.settleable(debts));
+        assertEquals(List.of(new SettlePlanUtil.Transfer(1L, 2L, 1000)), SettlePlanUtil.plan(debts).transfers());
+    }
+
+    @Test
+    void fingerprintIsOrderIndependentButTracksAmounts() {
+        Debt a = debt(1, 1, 2, 10.0);
+        Debt b = debt(2, 2, 3, 5.0);
+
+        assertEquals(SettlePlanUtil.fingerprint(List.of(a, b)), SettlePlanUtil.fingerprint(List.of(b, a)));
+        assertNotEquals(SettlePlanUtil.fingerprint(List.of(a, b)), SettlePlanUtil.fingerprint(List.of(a, debt(2, 2, 3, 5.01))));
+    }
+
+    private static Debt debt(long id, long from, long to, double amount) {
+        Debt d = new Debt(from, to, amount, "IOU", LocalDate.of(2024, 1, 1));
+        d.setId(id);
+        return d;
+    }
+}